@@ -0,0 +1,129 @@
+package game.component;
+
+import java.util.Arrays;
+
+/**
+ * Steps rendering quality up and down based on measured frame times; game thread only.
+ * Frame times go into a fixed ring buffer; every evaluation window the 95th percentile
+ * is compared against the frame budget. Dropping a tier reacts quickly, raising one
+ * needs a sustained margin, so the controller does not oscillate between tiers.
+ * Tier render scales are steps below the user's chosen scale, never above it.
+ */
+public class AdaptiveQuality {
+
+    public enum Tier {
+        LOW(false, 150, false, 1, 2),
+        MEDIUM(false, 300, true, 2, 1),
+        HIGH(true, 1000, true, 3, 0);
+
+        private final boolean antialiasing;
+        private final int particleCap;
+        private final boolean glow;
+        private final int parallaxLayers;
+        private final int scaleSteps; // render scale steps below the user's
+
+        Tier(boolean antialiasing, int particleCap, boolean glow, int parallaxLayers, int scaleSteps) {
+            this.antialiasing = antialiasing;
+            this.particleCap = particleCap;
+            this.glow = glow;
+            this.parallaxLayers = parallaxLayers;
+            this.scaleSteps = scaleSteps;
+        }
+
+        public boolean isAntialiasing() { return antialiasing; }
+        public int getParticleCap() { return particleCap; }
+        public boolean isGlow() { return glow; }
+        public int getParallaxLayers() { return parallaxLayers; }
+        public RenderScale getRenderScale(RenderScale userScale) { return userScale.stepDown(scaleSteps); }
+    }
+
+    private static final int WINDOW = 120;              // ~2 seconds of frames
+    private static final int EVALUATE_EVERY = 30;       // frames between decisions
+    private static final int DOWNGRADE_STREAK = 2;      // over budget this many evaluations in a row
+    private static final int UPGRADE_STREAK = 8;        // comfortably under budget for ~4 seconds
+    private static final float UPGRADE_HEADROOM = 0.6f; // p95 must be below 60% of budget to step up
+
+    private final long budgetNanos;
+    private final long[] samples = new long[WINDOW];
+    private final long[] scratch = new long[WINDOW];
+    private int sampleCount = 0;
+    private int nextSample = 0;
+    private int framesSinceEvaluation = 0;
+    private int overBudgetStreak = 0;
+    private int underBudgetStreak = 0;
+    private long lastP95 = 0;
+
+    private Tier tier = Tier.HIGH;
+    private boolean enabled = true;
+
+    public AdaptiveQuality(long budgetNanos) {
+        this.budgetNanos = budgetNanos;
+    }
+
+    /**
+     * Records one frame and returns true when the tier changed as a result.
+     */
+    public boolean recordFrame(long frameNanos) {
+        samples[nextSample] = frameNanos;
+        nextSample = (nextSample + 1) % WINDOW;
+        if (sampleCount < WINDOW) sampleCount++;
+
+        if (!enabled || ++framesSinceEvaluation < EVALUATE_EVERY || sampleCount < EVALUATE_EVERY) {
+            return false;
+        }
+        framesSinceEvaluation = 0;
+        lastP95 = percentile(0.95f);
+
+        if (lastP95 > budgetNanos) {
+            underBudgetStreak = 0;
+            if (++overBudgetStreak >= DOWNGRADE_STREAK && tier.ordinal() > 0) {
+                return changeTier(Tier.values()[tier.ordinal() - 1]);
+            }
+        } else if (lastP95 < budgetNanos * UPGRADE_HEADROOM) {
+            overBudgetStreak = 0;
+            if (++underBudgetStreak >= UPGRADE_STREAK && tier.ordinal() < Tier.values().length - 1) {
+                return changeTier(Tier.values()[tier.ordinal() + 1]);
+            }
+        } else {
+            overBudgetStreak = 0;
+            underBudgetStreak = 0;
+        }
+        return false;
+    }
+
+    private boolean changeTier(Tier newTier) {
+        tier = newTier;
+        overBudgetStreak = 0;
+        underBudgetStreak = 0;
+        // Measure the new tier on its own frames
+        sampleCount = 0;
+        nextSample = 0;
+        return true;
+    }
+
+    public long percentile(float p) {
+        if (sampleCount == 0) return 0;
+        System.arraycopy(samples, 0, scratch, 0, sampleCount);
+        Arrays.sort(scratch, 0, sampleCount);
+        int index = Math.min(sampleCount - 1, (int) (p * sampleCount));
+        return scratch[index];
+    }
+
+    public Tier getTier() {
+        return tier;
+    }
+
+    public long getLastP95() {
+        return lastP95;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        overBudgetStreak = 0;
+        underBudgetStreak = 0;
+    }
+}
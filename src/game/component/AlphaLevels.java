@@ -0,0 +1,34 @@
+package game.component;
+
+import java.awt.*;
+
+/**
+ * Shared table of SRC_OVER composites, one per 8-bit alpha level, so per-frame fades
+ * never allocate a new AlphaComposite.
+ */
+public final class AlphaLevels {
+    private static final int LEVELS = 256;
+    private static final AlphaComposite[] COMPOSITES = new AlphaComposite[LEVELS];
+
+    static {
+        for (int i = 0; i < LEVELS; i++) {
+            COMPOSITES[i] = AlphaComposite.getInstance(AlphaComposite.SRC_OVER, i / (float) (LEVELS - 1));
+        }
+    }
+
+    private AlphaLevels() {
+    }
+
+    public static int levelOf(float alpha) {
+        alpha = Math.max(0.0f, Math.min(1.0f, alpha));
+        return Math.round(alpha * (LEVELS - 1));
+    }
+
+    public static AlphaComposite get(float alpha) {
+        return COMPOSITES[levelOf(alpha)];
+    }
+
+    public static AlphaComposite get(int level) {
+        return COMPOSITES[level];
+    }
+}
@@ -0,0 +1,194 @@
+package game.component;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-only view of a packed asset archive written by game.main.AssetPacker.
+ * The whole file is memory-mapped once; assets are served as read-only slices of the
+ * mapping, so nothing is copied until a decoder reads the bytes.
+ *
+ * Layout (big-endian):
+ *   int magic, int version, int entryCount, int dataStart
+ *   entryCount x { short pathLength, byte[] path (UTF-8), long offset, int length }
+ *   blobs, each starting on a BLOB_ALIGNMENT boundary
+ */
+public class AssetArchive {
+    public static final int MAGIC = 0x41535450; // "ASTP"
+    public static final int VERSION = 1;
+    public static final int BLOB_ALIGNMENT = 64;
+    public static final String DEFAULT_FILE_NAME = "assets.pak";
+
+    private final File file;
+    private final MappedByteBuffer mapping;
+    private final Map<String, int[]> index = new HashMap<>(); // path -> {offset, length}
+    private final List<String> paths = new ArrayList<>();
+
+    public AssetArchive(File file) throws IOException {
+        this.file = file;
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r");
+             FileChannel channel = raf.getChannel()) {
+            // The mapping stays valid after the channel is closed
+            mapping = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        if (mapping.limit() < 16 || mapping.getInt(0) != MAGIC) {
+            throw new IOException("Not an asset archive: " + file);
+        }
+        int version = mapping.getInt(4);
+        if (version != VERSION) {
+            throw new IOException("Unsupported asset archive version " + version + ": " + file);
+        }
+
+        int entryCount = mapping.getInt(8);
+        int position = 16;
+        for (int i = 0; i < entryCount; i++) {
+            int pathLength = mapping.getShort(position) & 0xFFFF;
+            byte[] pathBytes = new byte[pathLength];
+            ByteBuffer view = mapping.duplicate();
+            view.position(position + 2);
+            view.get(pathBytes);
+            position += 2 + pathLength;
+
+            long offset = mapping.getLong(position);
+            int length = mapping.getInt(position + 8);
+            position += 12;
+            if (offset < 0 || offset + length > mapping.limit()) {
+                throw new IOException("Corrupt asset archive entry " + i + ": " + file);
+            }
+
+            String path = new String(pathBytes, StandardCharsets.UTF_8);
+            index.put(path, new int[]{(int) offset, length});
+            paths.add(path);
+        }
+    }
+
+    /**
+     * Looks for an archive in the location given by -Dasteroids.archive, then in the working
+     * directory, then next to the game's classes or jar. Returns null if there is none.
+     */
+    public static AssetArchive locate() {
+        List<File> candidates = new ArrayList<>();
+        String configured = System.getProperty("asteroids.archive");
+        if (configured != null) {
+            candidates.add(new File(configured));
+        }
+        candidates.add(new File(DEFAULT_FILE_NAME));
+        try {
+            File codeSource = new File(AssetArchive.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+            File directory = codeSource.isDirectory() ? codeSource : codeSource.getParentFile();
+            if (directory != null) {
+                candidates.add(new File(directory, DEFAULT_FILE_NAME));
+            }
+        } catch (Exception e) {
+            // No usable code source; the other candidates still apply
+        }
+
+        for (File candidate : candidates) {
+            if (!candidate.isFile()) continue;
+            try {
+                return new AssetArchive(candidate);
+            } catch (IOException e) {
+                System.err.println("Ignoring asset archive: " + e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    public boolean contains(String path) {
+        return index.containsKey(path);
+    }
+
+    /** Read-only slice of the mapped file holding the asset, or null if it is not packed. */
+    public ByteBuffer get(String path) {
+        int[] entry = index.get(path);
+        if (entry == null) return null;
+        ByteBuffer view = mapping.duplicate();
+        view.position(entry[0]);
+        view.limit(entry[0] + entry[1]);
+        return view.slice().asReadOnlyBuffer();
+    }
+
+    /** Stream over a packed asset for decoders that take an InputStream, or null if it is not packed. */
+    public InputStream open(String path) {
+        ByteBuffer buffer = get(path);
+        return buffer == null ? null : asStream(buffer);
+    }
+
+    /** Stream over the remaining bytes of a buffer; reads advance the buffer's position. */
+    public static InputStream asStream(ByteBuffer buffer) {
+        return new ByteBufferInputStream(buffer);
+    }
+
+    /** Packed paths in archive order. */
+    public List<String> getPaths() {
+        return Collections.unmodifiableList(paths);
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    // Reads straight from the mapped slice without an intermediate copy
+    private static class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+        private int markPosition = 0;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (length == 0) return 0;
+            if (!buffer.hasRemaining()) return -1;
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public long skip(long n) {
+            int count = (int) Math.max(0, Math.min(n, buffer.remaining()));
+            buffer.position(buffer.position() + count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+
+        // Audio file readers mark and reset while probing the header
+        @Override
+        public boolean markSupported() {
+            return true;
+        }
+
+        @Override
+        public synchronized void mark(int readLimit) {
+            markPosition = buffer.position();
+        }
+
+        @Override
+        public synchronized void reset() {
+            buffer.position(markPosition);
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package game.component;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Decodes every asset listed in the manifest in parallel at startup.
+ * Callers block only on the asset they ask for; everything else keeps loading in the
+ * background. Missing files resolve to null and are reported by the caller.
+ * Assets are read from a packed archive when one is found (see AssetArchive), and from
+ * the loose files under the working directory otherwise.
+ */
+public class AssetLoader {
+    public static final String MANIFEST_PATH = "src/game/resource/assets.manifest";
+
+    private static AssetLoader instance;
+
+    private final ExecutorService workers;
+    private final AssetArchive archive;
+    private final PixelCache pixelCache;
+    private final Map<String, Future<BufferedImage>> images = new ConcurrentHashMap<>();
+    private final Map<String, Future<byte[]>> audio = new ConcurrentHashMap<>();
+    private final List<String> manifestPaths = new CopyOnWriteArrayList<>();
+    private final AtomicInteger completed = new AtomicInteger();
+    private volatile int total = 0;
+    private boolean started = false;
+
+    private AssetLoader() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors()), r -> {
+            Thread t = new Thread(r, "AssetLoader-" + threadNumber.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        archive = AssetArchive.locate();
+        pixelCache = PixelCache.open();
+        // Decode straight from memory instead of spooling streams to temporary files
+        ImageIO.setUseCache(false);
+    }
+
+    public static synchronized AssetLoader getInstance() {
+        if (instance == null) {
+            instance = new AssetLoader();
+        }
+        return instance;
+    }
+
+    /** Reads the manifest and queues every entry; safe to call more than once. */
+    public synchronized void start() {
+        if (started) return;
+        started = true;
+
+        String[] lines;
+        try {
+            byte[] manifest = readBytes(MANIFEST_PATH);
+            if (manifest == null) {
+                System.err.println("Could not read asset manifest: " + MANIFEST_PATH + " not found");
+                return;
+            }
+            lines = new String(manifest, StandardCharsets.UTF_8).split("\\r?\\n");
+        } catch (IOException e) {
+            System.err.println("Could not read asset manifest: " + e.getMessage());
+            return;
+        }
+
+        for (String line : lines) {
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) continue;
+            int split = line.indexOf(' ');
+            if (split < 0) continue;
+            String kind = line.substring(0, split);
+            String path = line.substring(split + 1).trim();
+            if (kind.equals("image")) {
+                total++;
+                manifestPaths.add(path);
+                images.put(path, workers.submit(tracked(() -> decodeImage(path))));
+            } else if (kind.equals("theme") || kind.equals("stream")) {
+                // Listed for lookup only; read on demand through readImage or openStream
+                manifestPaths.add(path);
+            } else if (kind.equals("audio")) {
+                total++;
+                manifestPaths.add(path);
+                audio.put(path, workers.submit(tracked(() -> readBytes(path))));
+            } else {
+                System.err.println("Unknown asset kind in manifest: " + kind);
+            }
+        }
+    }
+
+    private <T> Callable<T> tracked(Callable<T> task) {
+        return () -> {
+            try {
+                return task.call();
+            } finally {
+                completed.incrementAndGet();
+            }
+        };
+    }
+
+    /** Returns the decoded image, blocking only until this particular asset is ready. */
+    public BufferedImage getImage(String path) {
+        return await(lookup(images, path, () -> decodeImage(path)), path);
+    }
+
+    /** Returns the raw bytes of an audio file, or null if it does not exist. */
+    public byte[] getAudioBytes(String path) {
+        return await(lookup(audio, path, () -> readBytes(path)), path);
+    }
+
+    /** Decodes an image on the caller's thread without keeping it in the loader. */
+    public BufferedImage readImage(String path) {
+        try {
+            return decodeImage(path);
+        } catch (IOException e) {
+            System.err.println("Error loading asset: " + path + " - " + e.getMessage());
+            return null;
+        }
+    }
+
+    /** Opens an asset for incremental reading without loading it, or returns null if it does not exist. */
+    public InputStream openStream(String path) {
+        if (archive != null && archive.contains(path)) {
+            return archive.open(path);
+        }
+        File file = new File(path);
+        if (!file.exists()) {
+            return null;
+        }
+        try {
+            return new BufferedInputStream(new FileInputStream(file));
+        } catch (IOException e) {
+            System.err.println("Error opening asset: " + path + " - " + e.getMessage());
+            return null;
+        }
+    }
+
+    private <T> Future<T> lookup(Map<String, Future<T>> assets, String path, Callable<T> loader) {
+        Future<T> future = assets.get(path);
+        if (future == null) {
+            // Not in the manifest: load it once, on the caller's thread
+            FutureTask<T> task = new FutureTask<>(loader);
+            future = assets.putIfAbsent(path, task);
+            if (future == null) {
+                future = task;
+                task.run();
+            }
+        }
+        return future;
+    }
+
+    public boolean exists(String path) {
+        if (images.containsKey(path)) return getImage(path) != null;
+        if (audio.containsKey(path)) return getAudioBytes(path) != null;
+        if (archive != null && archive.contains(path)) return true;
+        return new File(path).exists();
+    }
+
+    /** Manifest entries under a directory prefix, in manifest order. */
+    public List<String> list(String directoryPrefix) {
+        List<String> result = new ArrayList<>();
+        for (String path : manifestPaths) {
+            if (path.startsWith(directoryPrefix)) {
+                result.add(path);
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    public float getProgress() {
+        int all = total;
+        return all == 0 ? 1.0f : Math.min(1.0f, completed.get() / (float) all);
+    }
+
+    public boolean isComplete() {
+        return completed.get() >= total;
+    }
+
+    private <T> T await(Future<T> future, String path) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            System.err.println("Error loading asset: " + path + " - " + e.getCause().getMessage());
+            return null;
+        }
+    }
+
+    /** The archive assets are read from, or null when loading loose files. */
+    public AssetArchive getArchive() {
+        return archive;
+    }
+
+    /** The on-disk cache of decoded pixels, or null when it is turned off. */
+    public PixelCache getPixelCache() {
+        return pixelCache;
+    }
+
+    private BufferedImage decodeImage(String path) throws IOException {
+        ByteBuffer source = readSource(path);
+        if (source == null) {
+            return null;
+        }
+
+        // Warm start: reuse the pixels decoded last time if the source is unchanged
+        byte[] sourceHash = null;
+        if (pixelCache != null) {
+            sourceHash = PixelCache.hash(source);
+            BufferedImage cached = pixelCache.load(path, sourceHash);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        BufferedImage decoded = ImageIO.read(AssetArchive.asStream(source));
+        if (decoded != null && decoded.getType() != BufferedImage.TYPE_INT_ARGB) {
+            // Convert once here so drawing onto the INT_ARGB frames never has to
+            BufferedImage converted = new BufferedImage(decoded.getWidth(), decoded.getHeight(), BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g2 = converted.createGraphics();
+            g2.drawImage(decoded, 0, 0, null);
+            g2.dispose();
+            decoded = converted;
+        }
+        if (decoded != null && pixelCache != null) {
+            pixelCache.store(path, sourceHash, decoded);
+        }
+        return decoded;
+    }
+
+    // Encoded bytes of an asset: a slice of the archive, or the whole loose file
+    private ByteBuffer readSource(String path) throws IOException {
+        if (archive != null && archive.contains(path)) {
+            return archive.get(path);
+        }
+        File file = new File(path);
+        if (!file.exists()) {
+            return null;
+        }
+        return ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+    }
+
+    private byte[] readBytes(String path) throws IOException {
+        if (archive != null && archive.contains(path)) {
+            ByteBuffer packed = archive.get(path);
+            byte[] bytes = new byte[packed.remaining()];
+            packed.get(bytes);
+            return bytes;
+        }
+        File file = new File(path);
+        if (!file.exists()) {
+            return null;
+        }
+        return Files.readAllBytes(file.toPath());
+    }
+}
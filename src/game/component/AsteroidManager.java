@@ -1,5 +1,6 @@
 package game.component;
 
+import game.component.events.AsteroidSpawnEvent;
 import game.object.Asteroid;
 import game.object.Player;
 import java.awt.*;
@@ -30,7 +31,7 @@ public class AsteroidManager {
         this.screenWidth = screenWidth;
         this.screenHeight = screenHeight;
         this.maxAsteroids = maxAsteroids;
-        this.lastSpawnTime = System.currentTimeMillis();
+        this.lastSpawnTime = GameClock.getInstance().currentTimeMillis();
         this.spawnInterval = 3000; // spawn every 3 seconds
     }
     
@@ -46,20 +47,21 @@ public class AsteroidManager {
     public void setSpeedMultiplier(float mult) { this.speedMultiplier = Math.max(0.5f, mult); }
     
     public void startGracePeriod(long ms) {
-        this.graceEndTime = System.currentTimeMillis() + ms;
+        this.graceEndTime = GameClock.getInstance().currentTimeMillis() + ms;
     }
     
     public void startLevelWindow(long graceMs, long arcMs) {
-        long now = System.currentTimeMillis();
+        long now = GameClock.getInstance().currentTimeMillis();
         this.graceEndTime = now + graceMs;
         this.arcBlockEndTime = now + arcMs;
     }
     
     public void update() {
         // Spawn new asteroids if needed
-        long currentTime = System.currentTimeMillis();
+        long currentTime = GameClock.getInstance().currentTimeMillis();
         if (currentTime >= graceEndTime && asteroids.size() < maxAsteroids && currentTime - lastSpawnTime > spawnInterval) {
-            spawnRandomAsteroidWithMinDistance(safeSpawnDistance); // regular spawn uses safeSpawnDistance
+            int size = spawnRandomAsteroidWithMinDistance(safeSpawnDistance); // regular spawn uses safeSpawnDistance
+            recordSpawn("spawn", size, 1);
             lastSpawnTime = currentTime;
         }
         
@@ -71,7 +73,8 @@ public class AsteroidManager {
         spawnRandomAsteroidWithMinDistance(safeSpawnDistance);
     }
     
-    private void spawnRandomAsteroidWithMinDistance(float minDistanceFromPlayer) {
+    // Returns the size of the new asteroid
+    private int spawnRandomAsteroidWithMinDistance(float minDistanceFromPlayer) {
         float effectiveMin = Math.max(minDistanceFromPlayer, dynamicMinDistance());
         Vector2 position = getRandomEdgePositionOutsideSafeZone(effectiveMin);
         // Random velocity towards center of screen
@@ -80,6 +83,18 @@ public class AsteroidManager {
         int size = sizes[random.nextInt(sizes.length)];
         Asteroid asteroid = new Asteroid(position, velocity, size);
         asteroids.add(asteroid);
+        return size;
+    }
+    
+    private void recordSpawn(String reason, int size, int count) {
+        AsteroidSpawnEvent event = new AsteroidSpawnEvent();
+        if (event.shouldCommit()) {
+            event.reason = reason;
+            event.size = size;
+            event.count = count;
+            event.totalAsteroids = asteroids.size();
+            event.commit();
+        }
     }
     
     private Vector2 getRandomEdgePosition() {
@@ -162,6 +177,7 @@ public class AsteroidManager {
         for (int i = 0; i < count; i++) {
             spawnRandomAsteroidWithMinDistance(initialSpawnDistance);
         }
+        recordSpawn("initial", 0, count); // mixed sizes
     }
     
     public List<Asteroid> getAsteroids() {
@@ -189,7 +205,7 @@ public class AsteroidManager {
     
     private boolean isInPlayerForwardArc(Vector2 pos) {
         if (player == null) return false;
-        long now = System.currentTimeMillis();
+        long now = GameClock.getInstance().currentTimeMillis();
         if (now > arcBlockEndTime) return false;
         Vector2 pc = player.getCenter();
         double toPos = Math.atan2(pos.y - pc.y, pos.x - pc.x);
@@ -220,6 +236,7 @@ public class AsteroidManager {
 
         int pieces = 2 + random.nextInt(2); // 2-3 pieces
         Vector2 center = parent.getCenter();
+        int spawned = 0;
         for (int i = 0; i < pieces; i++) {
             if (asteroids.size() >= maxAsteroids) break; // respect cap
             float angleDeg = random.nextFloat() * 360f;
@@ -230,6 +247,8 @@ public class AsteroidManager {
             Vector2 vel = new Vector2((float)Math.cos(angle) * speed, (float)Math.sin(angle) * speed);
             Asteroid child = new Asteroid(pos, vel, childSize);
             asteroids.add(child);
+            spawned++;
         }
+        recordSpawn("split", childSize, spawned);
     }
 }
@@ -0,0 +1,305 @@
+package game.component;
+
+import game.component.events.SoundDispatchEvent;
+import jdk.jfr.EventType;
+
+import javax.sound.sampled.*;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Software mixer for sound effects and music.
+ * One daemon thread mixes a fixed set of voices and at most one MusicStream into a single
+ * SourceDataLine, so playing a sound costs one queue offer instead of a thread or process. Sounds are decoded once
+ * into PCM at the mixer's format. Decoding goes through javax.sound.sampled, which reads
+ * WAV, AIFF and AU out of the box; MP3 or FLAC need a service provider (such as mp3spi or
+ * jflac) on the classpath. Without one those sounds decode to null, and SoundManager plays
+ * them through ExternalPlayer instead where the platform has a player.
+ */
+public class AudioMixer {
+    public static final float SAMPLE_RATE = 44100f;
+    public static final int CHANNELS = 2;
+    public static final AudioFormat FORMAT = new AudioFormat(SAMPLE_RATE, 16, CHANNELS, true, false);
+
+    private static final int BLOCK_FRAMES = 512;          // ~11.6 ms mixed per pass
+    private static final int LINE_BUFFER_FRAMES = 4096;   // device buffer, ~93 ms
+
+    /** Decoded sound at the mixer's format: interleaved 16-bit stereo. */
+    public static class PcmBuffer {
+        private final short[] samples;
+        private final String name;
+
+        PcmBuffer(short[] samples, String name) {
+            this.samples = samples;
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getFrameCount() {
+            return samples.length / CHANNELS;
+        }
+
+        public float getDurationSeconds() {
+            return getFrameCount() / SAMPLE_RATE;
+        }
+    }
+
+    // One playing sound; also used to carry play requests to the mixer thread
+    static class Voice {
+        PcmBuffer buffer;
+        int frame;
+        float gain;
+        SoundScheduler.SoundSpec spec = SoundScheduler.SoundSpec.DEFAULT;
+        long requestedAt; // System.nanoTime() of the play request
+        SoundDispatchEvent dispatchEvent; // only while JFR is recording sound dispatches
+    }
+
+    private static final EventType DISPATCH_EVENTS = EventType.getEventType(SoundDispatchEvent.class);
+
+    private static final int MAX_PENDING = 64; // requests beyond this are dropped before scheduling
+
+    private final Voice[] voices;
+    private final Queue<Voice> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final SoundScheduler scheduler = new SoundScheduler();
+    private volatile boolean stopRequested = false;
+    private volatile MusicStream requestedMusic;
+    private MusicStream music; // mixer-thread copy; replaced streams are closed on the mixer thread
+    private volatile float masterGain = 1.0f;
+    private volatile boolean running = false;
+    private boolean unavailable = false;
+    private Thread thread;
+
+    public AudioMixer(int voiceCount) {
+        voices = new Voice[voiceCount];
+        for (int i = 0; i < voiceCount; i++) {
+            voices[i] = new Voice();
+        }
+    }
+
+    /** Decodes encoded audio (any format javax.sound can read) to PCM, or null if it cannot. */
+    public static PcmBuffer decode(byte[] encoded, String name) {
+        if (encoded == null) return null;
+        try (AudioInputStream source = AudioSystem.getAudioInputStream(new ByteArrayInputStream(encoded))) {
+            AudioFormat sourceFormat = source.getFormat();
+            // Let javax.sound produce 16-bit PCM at the source rate and channel count;
+            // rate and channel conversion are done below since few providers support them
+            AudioFormat pcmFormat = new AudioFormat(sourceFormat.getSampleRate(), 16,
+                    sourceFormat.getChannels(), true, false);
+            byte[] bytes;
+            try (AudioInputStream pcm = AudioSystem.getAudioInputStream(pcmFormat, source)) {
+                bytes = readAll(pcm);
+            }
+            return new PcmBuffer(resample(bytes, pcmFormat.getChannels(), pcmFormat.getSampleRate()), name);
+        } catch (UnsupportedAudioFileException | IllegalArgumentException e) {
+            System.err.println("No decoder for sound: " + name + " (needs an audio service provider on the classpath, or afplay)");
+        } catch (IOException e) {
+            System.err.println("Error decoding sound: " + name + " - " + e.getMessage());
+        }
+        return null;
+    }
+
+    private static byte[] readAll(AudioInputStream stream) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] chunk = new byte[8192];
+        int read;
+        while ((read = stream.read(chunk)) > 0) {
+            out.write(chunk, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    // Linear resampling of little-endian 16-bit PCM to SAMPLE_RATE stereo
+    static short[] resample(byte[] bytes, int channels, float sourceRate) {
+        int sourceFrames = bytes.length / (2 * channels);
+        if (sourceFrames == 0) return new short[0];
+        double step = sourceRate / SAMPLE_RATE;
+        int frames = (int) ((sourceFrames - 1) / step) + 1;
+        short[] out = new short[frames * CHANNELS];
+        for (int frame = 0; frame < frames; frame++) {
+            double position = frame * step;
+            int index = (int) position;
+            float t = (float) (position - index);
+            int next = Math.min(index + 1, sourceFrames - 1);
+            for (int channel = 0; channel < CHANNELS; channel++) {
+                int sourceChannel = Math.min(channel, channels - 1); // mono feeds both sides
+                float a = sample(bytes, index * channels + sourceChannel);
+                float b = sample(bytes, next * channels + sourceChannel);
+                out[frame * CHANNELS + channel] = (short) Math.round(a + (b - a) * t);
+            }
+        }
+        return out;
+    }
+
+    private static short sample(byte[] bytes, int index) {
+        return (short) ((bytes[index * 2] & 0xFF) | (bytes[index * 2 + 1] << 8));
+    }
+
+    /** Queues a sound on the mixer thread, starting the thread and line on first use. */
+    public void play(PcmBuffer buffer, float gain) {
+        play(buffer, gain, SoundScheduler.SoundSpec.DEFAULT);
+    }
+
+    /** Queues a sound that the scheduler may merge, limit or drop according to its spec. */
+    public void play(PcmBuffer buffer, float gain, SoundScheduler.SoundSpec spec) {
+        if (buffer == null || unavailable) return;
+        if (pendingCount.incrementAndGet() > MAX_PENDING) {
+            pendingCount.decrementAndGet();
+            return;
+        }
+        Voice request = new Voice();
+        request.buffer = buffer;
+        request.gain = Math.max(0.0f, gain);
+        request.spec = spec;
+        request.requestedAt = System.nanoTime();
+        if (DISPATCH_EVENTS.isEnabled()) {
+            // Timed from here to the mixer's decision, so the event shows queueing delay
+            request.dispatchEvent = new SoundDispatchEvent();
+            request.dispatchEvent.begin();
+        }
+        pending.offer(request);
+        ensureRunning();
+    }
+
+    public void stopAll() {
+        stopRequested = true;
+    }
+
+    /** Switches the music track, or stops music when null. Starts the mixer on first use. */
+    public void setMusic(MusicStream stream) {
+        requestedMusic = stream;
+        if (stream != null) {
+            ensureRunning();
+        }
+    }
+
+    public SoundScheduler getScheduler() {
+        return scheduler;
+    }
+
+    public void setMasterGain(float gain) {
+        this.masterGain = Math.max(0.0f, gain);
+    }
+
+    public void shutdown() {
+        running = false;
+    }
+
+    private synchronized void ensureRunning() {
+        if (running || unavailable) return;
+        SourceDataLine line;
+        try {
+            line = AudioSystem.getSourceDataLine(FORMAT);
+            line.open(FORMAT, LINE_BUFFER_FRAMES * FORMAT.getFrameSize());
+        } catch (LineUnavailableException | IllegalArgumentException e) {
+            System.err.println("Audio output unavailable: " + e.getMessage());
+            unavailable = true;
+            pending.clear();
+            pendingCount.set(0);
+            return;
+        }
+        running = true;
+        thread = new Thread(() -> mixLoop(line), "AudioMixer");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MAX_PRIORITY);
+        thread.start();
+    }
+
+    private void mixLoop(SourceDataLine line) {
+        float[] mix = new float[BLOCK_FRAMES * CHANNELS];
+        byte[] out = new byte[BLOCK_FRAMES * FORMAT.getFrameSize()];
+        line.start();
+        while (running) {
+            mixBlock(mix);
+            float gain = masterGain;
+            for (int i = 0; i < mix.length; i++) {
+                int value = Math.round(mix[i] * gain);
+                value = Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, value));
+                out[i * 2] = (byte) value;
+                out[i * 2 + 1] = (byte) (value >> 8);
+            }
+            // Blocks once the device buffer is full, which paces this loop
+            line.write(out, 0, out.length);
+        }
+        if (music != null) music.close();
+        line.stop();
+        line.close();
+    }
+
+    private void commitDispatch(Voice request) {
+        SoundDispatchEvent event = request.dispatchEvent;
+        event.end();
+        if (event.shouldCommit()) {
+            event.sound = request.buffer.getName();
+            event.outcome = scheduler.getLastOutcome().name().toLowerCase();
+            event.priority = request.spec.getPriority();
+            event.commit();
+        }
+    }
+
+    private void mixBlock(float[] mix) {
+        Arrays.fill(mix, 0.0f);
+
+        boolean stop = stopRequested;
+        if (stop) {
+            stopRequested = false;
+            for (Voice voice : voices) {
+                voice.buffer = null;
+            }
+        }
+
+        Voice request;
+        while ((request = pending.poll()) != null) {
+            pendingCount.decrementAndGet();
+            if (stop) continue; // requests queued before stopAll are discarded
+            Voice voice = scheduler.schedule(voices, request);
+            if (request.dispatchEvent != null) {
+                commitDispatch(request);
+            }
+            if (voice != null) {
+                voice.buffer = request.buffer;
+                voice.gain = request.gain;
+                voice.spec = request.spec;
+                voice.requestedAt = request.requestedAt;
+                voice.frame = 0;
+            }
+        }
+
+        MusicStream nextMusic = requestedMusic;
+        if (nextMusic != music) {
+            if (music != null) music.close();
+            music = nextMusic;
+        }
+        if (music != null) {
+            // Decodes just enough of the track to cover this block
+            music.mixInto(mix);
+        }
+
+        for (Voice voice : voices) {
+            if (voice.buffer == null) continue;
+            short[] samples = voice.buffer.samples;
+            int start = voice.frame * CHANNELS;
+            int end = Math.min(samples.length, start + mix.length);
+            float gain = voice.gain;
+            for (int i = start, j = 0; i < end; i++, j++) {
+                mix[j] += samples[i] * gain;
+            }
+            voice.frame += (end - start) / CHANNELS;
+            if (end >= samples.length) {
+                voice.buffer = null;
+            }
+        }
+    }
+
+    public int getVoiceCount() {
+        return voices.length;
+    }
+}
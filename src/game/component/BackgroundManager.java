@@ -1,10 +1,9 @@
 package game.component;
 
-import javax.imageio.ImageIO;
+import game.component.events.ThemeLoadEvent;
+
 import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.io.File;
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
@@ -15,6 +14,7 @@ public class BackgroundManager {
     private int width;
     private int height;
     private Random random;
+    private int maxLayers = Integer.MAX_VALUE; // quality setting: parallax layers to draw
     
     // Background themes
     public enum BackgroundTheme {
@@ -25,12 +25,19 @@ public class BackgroundManager {
     }
     
     private BackgroundTheme currentTheme;
+    private ProceduralStarfield starfield; // replaces the image layers when a theme fails to load
+    
+    // A decoded theme is three 1024x1024 ARGB layers, 12 MB; the default budget keeps three of the four resident
+    private static final long DEFAULT_CACHE_BUDGET_MB = 40;
+    private final ThemeCache themeCache;
     
     public BackgroundManager(int width, int height) {
         this.width = width;
         this.height = height;
         this.layers = new ArrayList<>();
         this.random = new Random();
+        long budgetMb = Long.getLong("asteroids.themeCacheMB", DEFAULT_CACHE_BUDGET_MB);
+        this.themeCache = new ThemeCache(budgetMb * 1024 * 1024, this::decodeThemeImages);
         
         // Default to blue nebula
         setTheme(BackgroundTheme.BLUE_NEBULA);
@@ -42,13 +49,56 @@ public class BackgroundManager {
     }
     
     private void loadTheme() {
+        ThemeLoadEvent event = new ThemeLoadEvent();
+        event.begin();
+        long hitsBefore = themeCache.getHits();
+        
         // Clear existing layers
         layers.clear();
+        starfield = null;
         
+        // Decoded layers come from the theme cache; a miss decodes on this thread
+        List<BufferedImage> images = themeCache.get(currentTheme);
+        
+        if (!images.isEmpty()) {
+            // Load the main background (first file) as the base layer
+            layers.add(new ParallaxLayer(images.get(0), 0, 0, 0.0f, 0.0f)); // Static background
+            
+            // Add additional layers with stronger parallax effect for visibility
+            if (images.size() > 1) {
+                // Second image as slow-moving middle layer
+                layers.add(new ParallaxLayer(images.get(1), 0, 0, 0.35f, 0.20f));
+            }
+            
+            if (images.size() > 2) {
+                // Third image as faster-moving foreground layer
+                layers.add(new ParallaxLayer(images.get(2), 0, 0, 0.70f, 0.40f));
+            }
+        } else {
+            // Fall back to an endless procedural starfield if images can't be loaded
+            starfield = new ProceduralStarfield(random.nextLong(), width, height);
+        }
+        
+        event.end();
+        if (event.shouldCommit()) {
+            event.theme = currentTheme.name();
+            event.layers = images.size();
+            for (BufferedImage image : images) {
+                event.bytes += (long) image.getWidth() * image.getHeight() * 4;
+            }
+            event.cacheHit = themeCache.getHits() > hitsBefore;
+            event.commit();
+        }
+        
+        // Decode the next theme in cycling order in the background
+        themeCache.prefetch(nextThemeAfter(currentTheme));
+    }
+    
+    private List<BufferedImage> decodeThemeImages(BackgroundTheme theme) {
         String basePath = "src/game/resource/img/backgrounds/";
         String themePath;
         
-        switch (currentTheme) {
+        switch (theme) {
             case BLUE_NEBULA:
                 themePath = basePath + "Blue Nebula/";
                 break;
@@ -65,75 +115,26 @@ public class BackgroundManager {
                 themePath = basePath + "Blue Nebula/";
         }
         
-        // Load background images from the theme directory
-        File directory = new File(themePath);
-        File[] files = directory.listFiles((dir, name) -> name.toLowerCase().endsWith(".png"));
-        
-        if (files != null && files.length > 0) {
-            // Sort files to ensure consistent loading order
-            java.util.Arrays.sort(files);
-            
-            // Load the main background (first file) as the base layer
-            try {
-                BufferedImage baseImage = ImageIO.read(files[0]);
-                layers.add(new ParallaxLayer(baseImage, 0, 0, 0.0f, 0.0f)); // Static background
-                
-                // Add additional layers with stronger parallax effect for visibility
-                if (files.length > 1) {
-                    // Second image as slow-moving middle layer
-                    BufferedImage midImage = ImageIO.read(files[1]);
-                    layers.add(new ParallaxLayer(midImage, 0, 0, 0.35f, 0.20f));
-                }
-                
-                if (files.length > 2) {
-                    // Third image as faster-moving foreground layer
-                    BufferedImage foreImage = ImageIO.read(files[2]);
-                    layers.add(new ParallaxLayer(foreImage, 0, 0, 0.70f, 0.40f));
-                }
-                
-            } catch (IOException e) {
-                System.err.println("Error loading background images: " + e.getMessage());
-                // Fall back to simple stars if images can't be loaded
-                createStarLayers();
-            }
-        } else {
+        // Theme layers are listed in the asset manifest
+        AssetLoader assets = AssetLoader.getInstance();
+        List<String> files = new ArrayList<>(assets.list(themePath));
+        if (files.isEmpty()) {
             System.err.println("No background images found in: " + themePath);
-            // Fall back to simple stars if no images are found
-            createStarLayers();
+            return new ArrayList<>();
         }
-    }
-    
-    private void createStarLayers() {
-        // Create a simple starfield as fallback
-        BufferedImage starfield = createStarfieldImage(width, height, 100);
-        layers.add(new ParallaxLayer(starfield, 0, 0, 0.0f, 0.0f));
         
-        BufferedImage distantStars = createStarfieldImage(width, height, 50);
-        layers.add(new ParallaxLayer(distantStars, 0, 0, 0.05f, 0.02f));
-        
-        BufferedImage nearStars = createStarfieldImage(width, height, 30);
-        layers.add(new ParallaxLayer(nearStars, 0, 0, 0.1f, 0.05f));
-    }
-    
-    private BufferedImage createStarfieldImage(int width, int height, int starCount) {
-        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
-        Graphics2D g2 = image.createGraphics();
-        
-        g2.setColor(new Color(0, 0, 0, 0)); // Transparent background
-        g2.fillRect(0, 0, width, height);
-        
-        for (int i = 0; i < starCount; i++) {
-            int x = random.nextInt(width);
-            int y = random.nextInt(height);
-            int size = random.nextInt(3) + 1;
-            int brightness = 150 + random.nextInt(106); // 150-255
-            
-            g2.setColor(new Color(brightness, brightness, brightness));
-            g2.fillRect(x, y, size, size);
+        // Sort files to ensure consistent loading order; base, middle and foreground layer
+        java.util.Collections.sort(files);
+        List<BufferedImage> images = new ArrayList<>();
+        for (int i = 0; i < Math.min(3, files.size()); i++) {
+            BufferedImage image = assets.readImage(files.get(i));
+            if (image == null) {
+                System.err.println("Error loading background image: " + files.get(i));
+                break;
+            }
+            images.add(image);
         }
-        
-        g2.dispose();
-        return image;
+        return images;
     }
     
     public void update(float playerVelocityX, float playerVelocityY) {
@@ -141,20 +142,66 @@ public class BackgroundManager {
         for (ParallaxLayer layer : layers) {
             layer.update(playerVelocityX, playerVelocityY);
         }
+        if (starfield != null) {
+            starfield.update(playerVelocityX, playerVelocityY);
+        }
     }
     
     public void draw(Graphics2D g2) {
-        // Draw all layers from back to front
-        for (ParallaxLayer layer : layers) {
-            layer.draw(g2, width, height);
+        // Draw layers from back to front, up to the quality limit
+        int count = Math.min(layers.size(), maxLayers);
+        for (int i = 0; i < count; i++) {
+            layers.get(i).draw(g2, width, height);
+        }
+        if (starfield != null) {
+            starfield.draw(g2, maxLayers);
         }
     }
     
+    public void prepareRaster(int dstWidth, float scale) {
+        // Called on the game thread before bands are dispatched, so workers only read
+        int count = Math.min(layers.size(), maxLayers);
+        for (int i = 0; i < count; i++) {
+            layers.get(i).prepareRaster(dstWidth, scale);
+        }
+        if (starfield != null) {
+            starfield.prepareRaster(dstWidth, scale, maxLayers);
+        }
+    }
+    
+    public void rasterizeBand(int[] dst, int dstWidth, int y0, int y1, float scale) {
+        // Clear the band to opaque black, then composite layers from back to front
+        java.util.Arrays.fill(dst, y0 * dstWidth, y1 * dstWidth, 0xFF000000);
+        int count = Math.min(layers.size(), maxLayers);
+        for (int i = 0; i < count; i++) {
+            layers.get(i).rasterizeBand(dst, dstWidth, y0, y1, scale);
+        }
+        if (starfield != null) {
+            starfield.rasterizeBand(dst, dstWidth, y0, y1, scale, maxLayers);
+        }
+    }
+    
+    public void setMaxLayers(int maxLayers) {
+        this.maxLayers = Math.max(1, maxLayers);
+    }
+    
     public void nextTheme() {
         // Cycle to the next theme
+        setTheme(nextThemeAfter(currentTheme));
+    }
+    
+    private static BackgroundTheme nextThemeAfter(BackgroundTheme theme) {
         BackgroundTheme[] themes = BackgroundTheme.values();
-        int nextIndex = (currentTheme.ordinal() + 1) % themes.length;
-        setTheme(themes[nextIndex]);
+        return themes[(theme.ordinal() + 1) % themes.length];
+    }
+    
+    /** The procedural starfield on screen, or null while a theme's images are shown. */
+    public ProceduralStarfield getStarfield() {
+        return starfield;
+    }
+    
+    public ThemeCache getThemeCache() {
+        return themeCache;
     }
     
     // Inner class to handle parallax scrolling for each layer
@@ -164,6 +211,8 @@ public class BackgroundManager {
         private float offsetY;
         private float parallaxFactorX;
         private float parallaxFactorY;
+        private int[] rasterPixels; // premultiplied ARGB copy of the image for the banded rasterizer
+        private int[] rasterColumns; // source column for each destination column this frame
         
         public ParallaxLayer(BufferedImage image, float offsetX, float offsetY, float parallaxFactorX, float parallaxFactorY) {
             this.image = image;
@@ -205,5 +254,47 @@ public class BackgroundManager {
                 }
             }
         }
+        
+        public void prepareRaster(int dstWidth, float scale) {
+            int imgWidth = image.getWidth();
+            if (rasterPixels == null) {
+                rasterPixels = image.getRGB(0, 0, imgWidth, image.getHeight(), null, 0, imgWidth);
+                for (int i = 0; i < rasterPixels.length; i++) {
+                    rasterPixels[i] = RasterWriter.premultiply(rasterPixels[i]);
+                }
+            }
+            if (rasterColumns == null || rasterColumns.length != dstWidth) {
+                rasterColumns = new int[dstWidth];
+            }
+            // Screen point (x, y) samples the tiled image at (x + offsetX, y + offsetY)
+            float inverseScale = 1.0f / scale;
+            int ox = (int) offsetX;
+            for (int x = 0; x < dstWidth; x++) {
+                rasterColumns[x] = ((int) (x * inverseScale) + ox) % imgWidth;
+            }
+        }
+        
+        public void rasterizeBand(int[] dst, int dstWidth, int y0, int y1, float scale) {
+            int imgWidth = image.getWidth();
+            int imgHeight = image.getHeight();
+            float inverseScale = 1.0f / scale;
+            int oy = (int) offsetY;
+            int[] src = rasterPixels;
+            int[] columns = rasterColumns;
+            
+            for (int y = y0; y < y1; y++) {
+                int srcRow = (((int) (y * inverseScale) + oy) % imgHeight) * imgWidth;
+                int dstRow = y * dstWidth;
+                for (int x = 0; x < dstWidth; x++) {
+                    int color = src[srcRow + columns[x]];
+                    int alpha = color >>> 24;
+                    if (alpha == 255) {
+                        dst[dstRow + x] = color;
+                    } else if (alpha != 0) {
+                        dst[dstRow + x] = RasterWriter.blendOver(dst[dstRow + x], color);
+                    }
+                }
+            }
+        }
     }
 }
@@ -0,0 +1,91 @@
+package game.component;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Optional software renderer for the background and particle layers.
+ * The frame's int[] raster is split into horizontal bands and each band is composited
+ * by a worker thread; the regular Graphics2D pass then draws sprites and HUD on top.
+ * The caller must not mutate the background or particles while a frame is rasterizing.
+ */
+public class BandedRasterizer {
+    private final ExecutorService workers;
+    private final List<BandTask> tasks = new ArrayList<>();
+
+    // Per-frame inputs, published to the workers by invokeAll
+    private int[] pixels;
+    private int frameWidth;
+    private int frameHeight;
+    private float scale;
+    private BackgroundManager background;
+    private ParticleSystem particles;
+
+    public BandedRasterizer() {
+        this(Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+    }
+
+    public BandedRasterizer(int workerCount) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(workerCount, r -> {
+            Thread t = new Thread(r, "RasterBand-" + threadNumber.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        // A few more bands than workers keeps the load even when particles cluster
+        for (int i = 0; i < workerCount * 2; i++) {
+            tasks.add(new BandTask(i));
+        }
+    }
+
+    public void rasterize(BufferedImage frame, float scale, BackgroundManager background, ParticleSystem particles) {
+        this.pixels = ((DataBufferInt) frame.getRaster().getDataBuffer()).getData();
+        this.frameWidth = frame.getWidth();
+        this.frameHeight = frame.getHeight();
+        this.scale = scale;
+        this.background = background;
+        this.particles = particles;
+
+        background.prepareRaster(frameWidth, scale);
+        try {
+            workers.invokeAll(tasks);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    private class BandTask implements Callable<Void> {
+        private final int index;
+        private final RasterWriter writer = new RasterWriter();
+
+        BandTask(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public Void call() {
+            int bands = tasks.size();
+            int y0 = frameHeight * index / bands;
+            int y1 = frameHeight * (index + 1) / bands;
+            if (y0 < y1) {
+                background.rasterizeBand(pixels, frameWidth, y0, y1, scale);
+                if (particles != null) {
+                    writer.reset(pixels, frameWidth, frameHeight);
+                    writer.setRowClip(y0, y1);
+                    particles.rasterize(writer, scale);
+                }
+            }
+            return null;
+        }
+    }
+}
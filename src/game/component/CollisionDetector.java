@@ -1,5 +1,6 @@
 package game.component;
 
+import game.component.events.CollisionPassEvent;
 import game.object.Asteroid;
 import game.object.Player;
 import game.object.PowerUp;
@@ -46,7 +47,10 @@ public class CollisionDetector {
     }
     
     public static int handleProjectileAsteroidCollisions(List<Projectile> projectiles, List<Asteroid> asteroids, AsteroidManager asteroidManager) {
+        CollisionPassEvent event = new CollisionPassEvent();
+        event.begin();
         int destroyedCount = 0;
+        int pairsTested = 0;
         
         for (int i = projectiles.size() - 1; i >= 0; i--) {
             // Check if index is still valid (projectiles list might have been modified)
@@ -65,6 +69,7 @@ public class CollisionDetector {
                 // Check each sub-projectile for collision
                 for (Projectile subProjectile : subProjectiles) {
                     for (Asteroid asteroid : asteroids) {
+                        pairsTested++;
                         if (!asteroid.isDestroyed() && checkCollision(subProjectile, asteroid)) {
                             // Split larger asteroids once, then destroy
                             if (!asteroid.isSplitProcessed() && asteroid.getSize() > 32) {
@@ -95,6 +100,7 @@ public class CollisionDetector {
             } else {
                 // Normal projectile handling
                 for (Asteroid asteroid : asteroids) {
+                    pairsTested++;
                     if (checkCollision(projectile, asteroid)) {
                         // Split larger asteroids once, then destroy
                         if (!asteroid.isSplitProcessed() && asteroid.getSize() > 32) {
@@ -118,6 +124,13 @@ public class CollisionDetector {
             }
         }
         
+        event.end();
+        if (event.shouldCommit()) {
+            event.kind = "projectile-asteroid";
+            event.pairsTested = pairsTested;
+            event.hits = destroyedCount;
+            event.commit();
+        }
         return destroyedCount;
     }
     
@@ -126,7 +139,12 @@ public class CollisionDetector {
         if (player.isInvulnerable()) {
             return false;
         }
+        CollisionPassEvent event = new CollisionPassEvent();
+        event.begin();
+        int pairsTested = 0;
+        boolean hit = false;
         for (Asteroid asteroid : asteroids) {
+            pairsTested++;
             if (checkCollision(player, asteroid)) {
                 // Make asteroid behave like it was shot: split (if applicable) and destroy
                 if (!asteroid.isSplitProcessed() && asteroid.getSize() > 32) {
@@ -136,10 +154,18 @@ public class CollisionDetector {
                     }
                 }
                 asteroid.destroy();
-                return true; // Player hit
+                hit = true; // Player hit
+                break;
             }
         }
-        return false;
+        event.end();
+        if (event.shouldCommit()) {
+            event.kind = "player-asteroid";
+            event.pairsTested = pairsTested;
+            event.hits = hit ? 1 : 0;
+            event.commit();
+        }
+        return hit;
     }
     
     public static boolean checkCollision(Player player, PowerUp powerUp) {
@@ -0,0 +1,193 @@
+package game.component;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Last-resort playback through the platform's command-line player, for audio that
+ * javax.sound cannot decode (MP3 on a stock JDK, such as the title music). Only macOS's
+ * afplay is supported, as in the original sound code; locate() returns null elsewhere and
+ * those sounds stay silent. Each sound is a separate process, so the shipped effects are
+ * WAV and go through the mixer instead. Requests still go through a SoundScheduler over a
+ * fixed set of process slots, so coalescing, per-sound limits and priorities apply here too.
+ */
+public class ExternalPlayer {
+    private static final String COMMAND = "afplay";
+    private static final int MAX_PROCESSES = 8; // process slots, scheduled like the mixer's voices
+    private static final int MAX_PENDING = 64;  // requests beyond this are dropped before scheduling
+
+    private final String executable;
+    private final ExecutorService launcher; // process start can take milliseconds; keep it off the game thread
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final Map<File, AudioMixer.PcmBuffer> soundKeys = new ConcurrentHashMap<>(); // identity of each file for the scheduler
+
+    // Launcher-thread state, also cleared by stopAll
+    private final SoundScheduler scheduler = new SoundScheduler();
+    private final AudioMixer.Voice[] voices = new AudioMixer.Voice[MAX_PROCESSES];
+    private final Process[] processes = new Process[MAX_PROCESSES];
+    private volatile Process musicProcess;
+    private volatile Thread musicThread;
+
+    private ExternalPlayer(String executable) {
+        this.executable = executable;
+        this.launcher = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "ExternalPlayer");
+            t.setDaemon(true);
+            return t;
+        });
+        for (int i = 0; i < MAX_PROCESSES; i++) {
+            voices[i] = new AudioMixer.Voice();
+        }
+    }
+
+    /** The player found on the PATH, or null if there is none. */
+    public static ExternalPlayer locate() {
+        String path = System.getenv("PATH");
+        if (path == null) return null;
+        for (String directory : path.split(File.pathSeparator)) {
+            File candidate = new File(directory, COMMAND);
+            if (candidate.canExecute()) {
+                return new ExternalPlayer(candidate.getPath());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * A file the player can read for an asset: the loose file when there is one, otherwise
+     * the asset's bytes spooled to a temporary file. Returns null if neither exists.
+     */
+    public static File resolve(String path) {
+        File file = new File(path);
+        if (file.isFile()) return file;
+        byte[] bytes = AssetLoader.getInstance().getAudioBytes(path);
+        if (bytes == null) return null;
+        try {
+            String name = file.getName();
+            int dot = name.lastIndexOf('.');
+            File spooled = File.createTempFile("asteroids-audio-", dot < 0 ? null : name.substring(dot).toLowerCase(Locale.ROOT));
+            spooled.deleteOnExit();
+            Files.write(spooled.toPath(), bytes);
+            return spooled;
+        } catch (IOException e) {
+            System.err.println("Error preparing sound for playback: " + path + " - " + e.getMessage());
+            return null;
+        }
+    }
+
+    /** Plays a file once at the given volume (0-1), subject to the spec's scheduling rules. */
+    public void play(File file, float volume, SoundScheduler.SoundSpec spec) {
+        if (pendingCount.incrementAndGet() > MAX_PENDING) {
+            pendingCount.decrementAndGet();
+            return;
+        }
+        AudioMixer.Voice request = new AudioMixer.Voice();
+        request.buffer = soundKeys.computeIfAbsent(file, f -> new AudioMixer.PcmBuffer(new short[0], f.getName()));
+        request.gain = Math.max(0.0f, Math.min(1.0f, volume));
+        request.spec = spec != null ? spec : SoundScheduler.SoundSpec.DEFAULT;
+        request.requestedAt = System.nanoTime(); // coalescing windows count from the request, not the launch
+        launcher.execute(() -> {
+            pendingCount.decrementAndGet();
+            launch(file, request);
+        });
+    }
+
+    public SoundScheduler getScheduler() {
+        return scheduler;
+    }
+
+    private void launch(File file, AudioMixer.Voice request) {
+        synchronized (voices) {
+            for (int i = 0; i < MAX_PROCESSES; i++) {
+                if (processes[i] != null && !processes[i].isAlive()) {
+                    processes[i] = null;
+                    voices[i].buffer = null;
+                }
+            }
+            AudioMixer.Voice voice = scheduler.schedule(voices, request);
+            if (voice == null) return; // merged into an instance already playing, or dropped
+
+            int slot = 0;
+            while (voices[slot] != voice) slot++;
+            if (processes[slot] != null) {
+                processes[slot].destroy(); // replaced or stolen
+            }
+            processes[slot] = start(file, request.gain);
+            voice.buffer = processes[slot] != null ? request.buffer : null;
+            voice.gain = request.gain;
+            voice.spec = request.spec;
+            voice.requestedAt = request.requestedAt;
+        }
+    }
+
+    /** Plays a track, restarting it each time it ends while loop is set; replaces any current track. */
+    public void playMusic(File file, boolean loop, float volume) {
+        stopMusic();
+        Thread t = new Thread(() -> {
+            do {
+                Process process = start(file, volume);
+                if (process == null) break;
+                musicProcess = process;
+                if (musicThread != Thread.currentThread()) {
+                    process.destroy(); // stopped while this one was starting
+                    break;
+                }
+                try {
+                    // Wait for the track to finish
+                    process.waitFor();
+                } catch (InterruptedException e) {
+                    process.destroy();
+                    break;
+                }
+            } while (loop && musicThread == Thread.currentThread());
+        }, "MusicPlayerThread");
+        t.setDaemon(true);
+        musicThread = t;
+        t.start();
+    }
+
+    public void stopMusic() {
+        Thread t = musicThread;
+        musicThread = null;
+        if (t != null) {
+            t.interrupt();
+        }
+        Process process = musicProcess;
+        musicProcess = null;
+        if (process != null) {
+            process.destroy();
+        }
+    }
+
+    public void stopAll() {
+        synchronized (voices) {
+            for (int i = 0; i < MAX_PROCESSES; i++) {
+                if (processes[i] != null) {
+                    processes[i].destroy();
+                    processes[i] = null;
+                }
+                voices[i].buffer = null;
+            }
+        }
+    }
+
+    private Process start(File file, float volume) {
+        ProcessBuilder builder = new ProcessBuilder(executable, "-v",
+                String.valueOf(Math.max(0.0f, Math.min(1.0f, volume))), file.getPath());
+        builder.redirectOutput(ProcessBuilder.Redirect.DISCARD);
+        builder.redirectError(ProcessBuilder.Redirect.DISCARD);
+        try {
+            return builder.start();
+        } catch (IOException e) {
+            System.err.println("Error playing " + file.getName() + ": " + e.getMessage());
+            return null;
+        }
+    }
+}
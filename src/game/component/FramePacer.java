@@ -0,0 +1,92 @@
+package game.component;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Paces a loop to a fixed frame period against absolute deadlines.
+ * Each frame's deadline is the previous one plus the period, so rounding never accumulates
+ * into drift. The wait parks the thread for most of the remaining time and, depending on
+ * the mode, spins through the last stretch where the OS timer is too coarse to hit the
+ * deadline exactly. A loop that falls more than a frame behind skips the missed slots
+ * instead of running them back to back.
+ */
+public class FramePacer {
+
+    /** How much CPU to spend on waking exactly at the deadline. */
+    public enum Mode {
+        EFFICIENT(0),          // park only; wakes within the OS timer slack
+        BALANCED(200_000),     // spin the last 0.2 ms
+        PRECISE(2_000_000);    // spin the last 2 ms
+
+        private final long spinNanos;
+
+        Mode(long spinNanos) {
+            this.spinNanos = spinNanos;
+        }
+
+        /** Mode named by -Dasteroids.pacer, or the given default. */
+        public static Mode fromProperty(Mode defaultMode) {
+            String value = System.getProperty("asteroids.pacer");
+            if (value == null) return defaultMode;
+            try {
+                return Mode.valueOf(value.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                System.err.println("Unknown pacer mode: " + value + ", using " + defaultMode);
+                return defaultMode;
+            }
+        }
+    }
+
+    private final long periodNanos;
+    private final long spinNanos;
+    private long deadline;
+    private long lastLatenessNanos = 0;
+    private long missedFrames = 0;
+
+    public FramePacer(long periodNanos, Mode mode) {
+        this.periodNanos = periodNanos;
+        // On a single core a spinning thread only delays the threads it is waiting on
+        this.spinNanos = Runtime.getRuntime().availableProcessors() > 1 ? mode.spinNanos : 0;
+        this.deadline = System.nanoTime() + periodNanos;
+    }
+
+    /** Waits for the end of the current frame slot; returns the time it woke. */
+    public long awaitNextFrame() {
+        long now;
+        long remaining;
+        while ((remaining = deadline - (now = System.nanoTime())) > 0) {
+            if (remaining > spinNanos) {
+                LockSupport.parkNanos(remaining - spinNanos);
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+
+        lastLatenessNanos = now - deadline;
+        deadline += periodNanos;
+        if (now - deadline > 0) {
+            // More than a whole frame late: start a fresh schedule rather than catch up in a burst
+            missedFrames += (now - deadline) / periodNanos + 1;
+            deadline = now + periodNanos;
+        }
+        return now;
+    }
+
+    /** Restarts the schedule from now, e.g. after the loop was stalled on purpose. */
+    public void reset() {
+        deadline = System.nanoTime() + periodNanos;
+    }
+
+    public long getPeriodNanos() {
+        return periodNanos;
+    }
+
+    /** How long after its deadline the last frame woke. */
+    public long getLastLatenessNanos() {
+        return lastLatenessNanos;
+    }
+
+    public long getMissedFrames() {
+        return missedFrames;
+    }
+}
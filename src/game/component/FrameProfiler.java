@@ -0,0 +1,179 @@
+package game.component;
+
+import java.awt.*;
+import java.util.Arrays;
+
+/**
+ * Per-phase frame timings for the game and render threads.
+ * Scopes are begin/end pairs around a phase and cost two System.nanoTime() calls; a phase
+ * entered several times in a frame accumulates. endFrame() commits the game-thread phases
+ * to fixed ring buffers, so nothing is allocated while the game runs. RENDER is timed on
+ * the render thread and travels back in the frame it presented; the game thread records it
+ * with record() once the frame returns, so every field here is owned by the game thread.
+ * Disable with -Dasteroids.profiler=false.
+ */
+public class FrameProfiler {
+
+    public enum Phase {
+        ASTEROIDS("ASTEROIDS", new Color(200, 200, 200), false),
+        PARTICLES("PARTICLES", new Color(255, 140, 0), false),
+        POWERUPS("POWER-UPS", new Color(255, 220, 0), false),
+        COLLISION("COLLISION", new Color(255, 60, 60), false),
+        BACKGROUND("BACKGROUND", new Color(60, 120, 255), false),
+        GAME_DRAW("GAME DRAW", new Color(0, 200, 120), false),
+        UI("UI", new Color(200, 100, 255), false),
+        RENDER("RENDER", new Color(0, 220, 220), true); // render thread, overlaps the next game frame; one sample per presented frame
+
+        private final String label;
+        private final Color color;
+        private final boolean renderThread;
+
+        Phase(String label, Color color, boolean renderThread) {
+            this.label = label;
+            this.color = color;
+            this.renderThread = renderThread;
+        }
+    }
+
+    private static final Phase[] PHASES = Phase.values();
+    private static final int HISTORY = 240;          // 4 seconds at 60 FPS
+    private static final int STATS_INTERVAL = 30;    // recompute percentiles twice a second
+    private static final long BUDGET_NANOS = 1_000_000_000L / 60;
+
+    private final boolean enabled = !"false".equals(System.getProperty("asteroids.profiler"));
+
+    private final long[] starts = new long[PHASES.length];
+    private final long[] current = new long[PHASES.length];
+    private final long[][] history = new long[PHASES.length][HISTORY];
+    private final int[] writeIndex = new int[PHASES.length];  // render-thread phases only; others follow frames
+    private final int[] sampleCount = new int[PHASES.length]; // render-thread phases only
+    private final long[] frameHistory = new long[HISTORY];
+    private int frames = 0;
+
+    // Overlay state, recomputed every STATS_INTERVAL frames on the game thread
+    private final long[] sortScratch = new long[HISTORY];
+    private final float[] p50 = new float[PHASES.length];
+    private final float[] p99 = new float[PHASES.length];
+    private float frameP50 = 0;
+    private float frameP99 = 0;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void begin(Phase phase) {
+        if (enabled) {
+            starts[phase.ordinal()] = System.nanoTime();
+        }
+    }
+
+    public void end(Phase phase) {
+        if (!enabled) return;
+        record(phase, System.nanoTime() - starts[phase.ordinal()]);
+    }
+
+    /**
+     * Adds time measured elsewhere, such as a render-thread duration handed back with its
+     * frame. A render-thread phase gets one sample per call; others accumulate into this frame.
+     */
+    public void record(Phase phase, long nanos) {
+        if (!enabled) return;
+        int i = phase.ordinal();
+        if (phase.renderThread) {
+            history[i][writeIndex[i]] = nanos;
+            writeIndex[i] = (writeIndex[i] + 1) % HISTORY;
+            sampleCount[i]++;
+        } else {
+            current[i] += nanos;
+        }
+    }
+
+    /** Commits this frame's game-thread phases; frameNanos is the whole update and draw. */
+    public void endFrame(long frameNanos) {
+        if (!enabled) return;
+        int index = frames % HISTORY;
+        for (Phase phase : PHASES) {
+            if (phase.renderThread) continue;
+            int i = phase.ordinal();
+            history[i][index] = current[i];
+            current[i] = 0;
+        }
+        frameHistory[index] = frameNanos;
+        frames++;
+    }
+
+    /** Time spent in a phase during the last committed frame, or its latest render-thread sample. */
+    public long getLastNanos(Phase phase) {
+        int i = phase.ordinal();
+        if (phase.renderThread) {
+            return sampleCount[i] == 0 ? 0 : history[i][(writeIndex[i] + HISTORY - 1) % HISTORY];
+        }
+        if (frames == 0) return 0;
+        return history[i][(frames - 1) % HISTORY];
+    }
+
+    /** Rolling percentile (0-100) of a phase in milliseconds. */
+    public float getPercentile(Phase phase, float percentile) {
+        int i = phase.ordinal();
+        return percentile(history[i], phase.renderThread ? sampleCount[i] : frames, percentile);
+    }
+
+    public float getFramePercentile(float percentile) {
+        return percentile(frameHistory, frames, percentile);
+    }
+
+    private float percentile(long[] samples, int count, float percentile) {
+        int n = Math.min(count, HISTORY);
+        if (n == 0) return 0;
+        System.arraycopy(samples, 0, sortScratch, 0, n);
+        Arrays.sort(sortScratch, 0, n);
+        int rank = Math.min(n - 1, (int) Math.ceil(n * percentile / 100.0) - 1);
+        return sortScratch[Math.max(0, rank)] / 1_000_000f;
+    }
+
+    /** Stacked per-phase bars for recent frames and a p50/p99 table; game thread. */
+    public void drawOverlay(Graphics2D g2, Font font, int x, int y) {
+        if (!enabled) return;
+        if (frames % STATS_INTERVAL == 0 || frameP99 == 0) {
+            for (Phase phase : PHASES) {
+                p50[phase.ordinal()] = getPercentile(phase, 50);
+                p99[phase.ordinal()] = getPercentile(phase, 99);
+            }
+            frameP50 = getFramePercentile(50);
+            frameP99 = getFramePercentile(99);
+        }
+
+        int graphHeight = 80;
+        int panelWidth = HISTORY + 20;
+        int panelHeight = graphHeight + 24 + (PHASES.length + 1) * 14;
+        g2.setColor(new Color(0, 0, 0, 170));
+        g2.fillRect(x, y, panelWidth, panelHeight);
+
+        // One column per frame, oldest on the left; the full graph height is two frame budgets
+        int baseline = y + 10 + graphHeight;
+        int count = Math.min(frames, HISTORY);
+        for (int column = 0; column < count; column++) {
+            int index = (frames - count + column) % HISTORY;
+            int top = baseline;
+            for (Phase phase : PHASES) {
+                if (phase.renderThread) continue;
+                int h = (int) (history[phase.ordinal()][index] * graphHeight / (2 * BUDGET_NANOS));
+                if (h <= 0) continue;
+                g2.setColor(phase.color);
+                g2.fillRect(x + 10 + column, top - h, 1, h);
+                top -= h;
+            }
+        }
+        g2.setColor(Color.WHITE);
+        g2.drawLine(x + 10, baseline - graphHeight / 2, x + 10 + HISTORY, baseline - graphHeight / 2); // 60 FPS budget
+
+        g2.setFont(font);
+        int row = baseline + 22;
+        g2.drawString(String.format("FRAME       p50 %5.2f  p99 %5.2f ms", frameP50, frameP99), x + 10, row);
+        for (Phase phase : PHASES) {
+            row += 14;
+            g2.setColor(phase.color);
+            g2.drawString(String.format("%-11s p50 %5.2f  p99 %5.2f", phase.label, p50[phase.ordinal()], p99[phase.ordinal()]), x + 10, row);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package game.component;
+
+/**
+ * Simulation time shared by every gameplay system.
+ * The game thread calls tick() once per frame. Timers read currentTimeMillis() from here
+ * instead of the wall clock, so pausing freezes all of them at once and a time scale
+ * speeds them up or slows them down together. Entity threads read the value published by
+ * the last tick, so within a frame every reader sees the same time.
+ */
+public class GameClock {
+    private static final GameClock instance = new GameClock();
+    private static final long MAX_STEP_NANOS = 250_000_000L; // a long stall (debugger, GC) counts as at most this
+
+    private volatile boolean paused = false;
+    private volatile float timeScale = 1.0f;
+    private volatile long millis = 0;
+
+    // Game thread only
+    private long nanos = 0;
+    private long lastRealNanos = System.nanoTime();
+    private long ticks = 0;
+
+    private GameClock() {
+    }
+
+    public static GameClock getInstance() {
+        return instance;
+    }
+
+    /** Advances simulation time by the scaled real time since the last tick; game thread only. */
+    public void tick() {
+        long now = System.nanoTime();
+        long step = Math.min(now - lastRealNanos, MAX_STEP_NANOS);
+        lastRealNanos = now;
+        ticks++;
+        if (!paused) {
+            nanos += (long) (step * timeScale);
+            millis = nanos / 1_000_000L;
+        }
+    }
+
+    /** Simulation time in milliseconds as of the last tick. */
+    public long currentTimeMillis() {
+        return millis;
+    }
+
+    public long getTickCount() {
+        return ticks;
+    }
+
+    public void setPaused(boolean paused) {
+        this.paused = paused;
+    }
+
+    public boolean isPaused() {
+        return paused;
+    }
+
+    /** 1.0 is real time; 0.5 runs the game at half speed. */
+    public void setTimeScale(float timeScale) {
+        this.timeScale = Math.max(0.0f, timeScale);
+    }
+
+    public float getTimeScale() {
+        return timeScale;
+    }
+
+    /** Converts a real-time frame delta into simulation time: scaled, and zero while paused. */
+    public float scaleDelta(float deltaTime) {
+        return paused ? 0.0f : deltaTime * timeScale;
+    }
+}
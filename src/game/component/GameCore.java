@@ -1,5 +1,6 @@
 package game.component;
 
+import game.component.events.FrameEvent;
 import game.object.Asteroid;
 import game.object.Player;
 import game.object.PowerUp;
@@ -12,20 +13,47 @@ import java.awt.event.*;
 import java.awt.geom.AffineTransform;
 import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Queue;
 import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 public class GameCore extends JComponent{
 
     private JFrame window;
     private Graphics2D g2;
     private BufferedImage image;
+    private volatile TripleBuffer<Frame> frames;
+    private Frame[] frameSet; // game thread: every frame in the current buffer
+    private final Queue<Frame> retiredFrames = new ConcurrentLinkedQueue<>(); // disposed by the render thread
+    
+    // Internal render resolution, scaled to the window once at present time
+    private RenderScale renderScale = RenderScale.fromPercent(Integer.getInteger("asteroids.renderScale", 100));
+    private volatile RenderScale requestedRenderScale = renderScale;
+    private volatile RenderScale userRenderScale = renderScale; // the property or R key; adaptive quality never goes above it
+    private Object presentInterpolation = RenderingHints.VALUE_INTERPOLATION_BILINEAR;
+    private boolean antialiasing = true;
+    private volatile boolean requestedAntialiasing = true;
+    private final boolean userAntialiasing = true;
+    private AdaptiveQuality adaptiveQuality;
+    private volatile boolean themeChangeRequested = false;
+    private volatile boolean requestedAdaptiveQuality = true; // applied by the game thread before recording a frame
+    private final LatencyTracker latencyTracker = new LatencyTracker();
+    private volatile boolean showLatencyOverlay = false;
+    // The exit report is only written when asked for with -Dasteroids.latencyReport or by opening the F3 overlay
+    private volatile boolean latencyReportRequested = System.getProperty("asteroids.latencyReport") != null;
+    private final FrameProfiler profiler = new FrameProfiler();
+    private volatile boolean showProfilerOverlay = false;
+    private long frameSequence = 0; // game thread; stamped on each frame for latency matching
 
     private int width;
     private int height;
     private Thread thread;
-    private boolean start = true;
+    private Thread renderThread;
+    private volatile boolean start = true;
 
     private List<Projectile> projectiles;
     private List<Asteroid> asteroids;
@@ -34,11 +62,14 @@ public class GameCore extends JComponent{
     private PowerUpManager powerUpManager;
     private SoundManager soundManager;
     private BackgroundManager backgroundManager;
+    private final ViewCuller viewCuller = new ViewCuller();
+    private final RenderCommands renderCommands = new RenderCommands();
+    private BandedRasterizer bandedRasterizer; // optional parallel background/particle path
 
     public static Vector2 screenSize;
 
     // Game Fps
-    private final int FPS = 67;
+    private final int FPS = 60;
     private final int TARGET_TIME = 1000000000 / FPS;
 
     // Game Objects
@@ -53,11 +84,13 @@ public class GameCore extends JComponent{
     private int score = 0;
     private boolean gameOver = false;
     private long gameOverTime = 0;
+    private final GameClock gameClock = GameClock.getInstance();
+    private final TimingWheel timers = new TimingWheel(gameClock.currentTimeMillis());
     private final long RESTART_DELAY = 3000; // 3 seconds before restart option appears
     
     // Screen shake effect
     private boolean screenShaking = false;
-    private long screenShakeStartTime = 0;
+    private TimingWheel.Timeout screenShakeTimeout;
     private final long SCREEN_SHAKE_DURATION = 500; // 0.5 seconds
     private final int SCREEN_SHAKE_INTENSITY = 10; // pixels
     
@@ -81,12 +114,6 @@ public class GameCore extends JComponent{
     
     private GameState currentState = GameState.MENU;
     
-    // Background stars (kept for fallback)
-    private static final int NUM_STARS = 100;
-    private Vector2[] starPositions;
-    private int[] starSizes;
-    private Color[] starColors;
-    
     // Arcade-style UI
     private Font arcadeFont;
     private Font arcadeFontLarge;
@@ -96,6 +123,7 @@ public class GameCore extends JComponent{
         this.window = window;
         screenSize = new Vector2(1280, 720);
         soundManager = SoundManager.getInstance();
+        adaptiveQuality = new AdaptiveQuality(TARGET_TIME);
         
         // Load arcade-style fonts
         try {
@@ -139,6 +167,7 @@ public class GameCore extends JComponent{
                     SoundManager.getInstance().stopMusic();
                     SoundManager.getInstance().stopAllSounds();
                 } catch (Exception ignoredInner) {}
+                exportLatencyReport();
             }, "AudioShutdownHook"));
         } catch (Exception ignored) {}
     }
@@ -151,7 +180,11 @@ public class GameCore extends JComponent{
         initGameObjects();
         initInput();
         initProjectiles();
-        initStars(); // Keep for fallback
+        
+        // Optional multi-threaded software path for background and particles
+        if (Boolean.getBoolean("asteroids.bandedRaster")) {
+            bandedRasterizer = new BandedRasterizer();
+        }
         
         // Initialize background manager
         backgroundManager = new BackgroundManager(width, height);
@@ -169,41 +202,89 @@ public class GameCore extends JComponent{
         thread = new Thread(() -> {
             long frameStartTime = 0;
             long frameRenderTime = 0;
+            FramePacer pacer = new FramePacer(TARGET_TIME, FramePacer.Mode.fromProperty(FramePacer.Mode.BALANCED));
             while (start) {
                 frameStartTime = System.nanoTime();
+                if (requestedRenderScale != renderScale || requestedAntialiasing != antialiasing) {
+                    rebuildFrames();
+                }
+                // Simulate and draw into the back frame, then hand it to the render thread
+                FrameEvent frameEvent = new FrameEvent();
+                frameEvent.begin();
+                Frame frame = frames.getBack();
+                if (frame.renderNanos != 0) {
+                    // How long this frame took to present last time round; the buffer swap orders the read
+                    profiler.record(FrameProfiler.Phase.RENDER, frame.renderNanos);
+                    frame.renderNanos = 0;
+                }
+                frame.sequence = ++frameSequence;
+                image = frame.image;
+                g2 = frame.g2;
                 update();
                 draw();
+                frames.publish();
                 frameRenderTime = System.nanoTime() - frameStartTime;
-                if (frameRenderTime < TARGET_TIME) {
-                    sleep((TARGET_TIME - frameRenderTime) / 1000000);
+                profiler.endFrame(frameRenderTime);
+                frameEvent.end();
+                if (frameEvent.shouldCommit()) {
+                    commitFrameEvent(frameEvent);
+                }
+                if (requestedAdaptiveQuality != adaptiveQuality.isEnabled()) {
+                    adaptiveQuality.setEnabled(requestedAdaptiveQuality);
+                    if (requestedAdaptiveQuality) {
+                        applyQuality(adaptiveQuality.getTier());
+                    } else {
+                        restoreUserQuality();
+                    }
+                }
+                if (adaptiveQuality.recordFrame(frameRenderTime)) {
+                    applyQuality(adaptiveQuality.getTier());
                 }
+                pacer.awaitNextFrame();
             }
-        });
+        }, "GameThread");
         thread.start();
-    }
-    
-    private void initStars() {
-        Random random = new Random();
-        starPositions = new Vector2[NUM_STARS];
-        starSizes = new int[NUM_STARS];
-        starColors = new Color[NUM_STARS];
-        
-        for (int i = 0; i < NUM_STARS; i++) {
-            starPositions[i] = new Vector2(
-                random.nextFloat() * width,
-                random.nextFloat() * height
-            );
-            
-            // Vary star sizes (1-3 pixels)
-            starSizes[i] = random.nextInt(3) + 1;
-            
-            // Vary star brightness
-            int brightness = 150 + random.nextInt(106); // 150-255
-            starColors[i] = new Color(brightness, brightness, brightness);
-        }
+
+        // Presents the freshest completed frame; never blocks the game thread
+        renderThread = new Thread(() -> {
+            TripleBuffer<Frame> presenting = null;
+            while (start) {
+                // Re-read the buffer each pass; it is replaced when the render scale changes
+                TripleBuffer<Frame> current = frames;
+                if (current != presenting) {
+                    // Nothing presents from the replaced buffers any more, and the game thread left them when it swapped
+                    presenting = current;
+                    Frame retired;
+                    while ((retired = retiredFrames.poll()) != null) {
+                        retired.g2.dispose();
+                    }
+                }
+                if (current.awaitFresh(TARGET_TIME * 2L)) {
+                    render(current.getFront());
+                }
+            }
+        }, "RenderThread");
+        renderThread.setDaemon(true);
+        renderThread.start();
     }
     
     private void update() {
+        // Advance simulation time once; every timer this tick reads this value
+        gameClock.tick();
+        // Natural power-up spawns only count down in a game; state changes from the input thread land here.
+        // Paused keeps the timer, since the clock is frozen and it resumes where it stopped.
+        powerUpManager.setNaturalSpawns(currentState == GameState.PLAYING || currentState == GameState.PAUSED);
+        timers.advance(gameClock.currentTimeMillis());
+        
+        // Apply input queued by the listeners since the last tick
+        playerInput.beginTick();
+        
+        // Theme switches requested from the input thread are applied here, between frames
+        if (themeChangeRequested) {
+            themeChangeRequested = false;
+            backgroundManager.nextTheme();
+        }
+        
         switch (currentState) {
             case MENU:
                 // Menu logic will be handled by input events
@@ -220,7 +301,7 @@ public class GameCore extends JComponent{
                 
             case GAME_OVER:
                 // Check for restart
-                if (System.currentTimeMillis() - gameOverTime > RESTART_DELAY && playerInput.isKey_space()) {
+                if (gameClock.currentTimeMillis() - gameOverTime > RESTART_DELAY && playerInput.isKey_space()) {
                     restartGame();
                 }
                 updateBackground(0, 0); // Slow background movement in game over
@@ -237,7 +318,7 @@ public class GameCore extends JComponent{
         // Check if player is dead
         if (!player.isAlive()) {
             currentState = GameState.GAME_OVER;
-            gameOverTime = System.currentTimeMillis();
+            gameOverTime = gameClock.currentTimeMillis();
             soundManager.playSound("gameover");
             // Bring back title music on game over
             try {
@@ -249,27 +330,35 @@ public class GameCore extends JComponent{
         }
         
         // Update asteroid manager
+        profiler.begin(FrameProfiler.Phase.ASTEROIDS);
         asteroidManager.update();
         
         // Update asteroids list from manager
         asteroids = asteroidManager.getAsteroids();
+        profiler.end(FrameProfiler.Phase.ASTEROIDS);
         
         // Update particle system
+        profiler.begin(FrameProfiler.Phase.PARTICLES);
         particleSystem.update();
+        profiler.end(FrameProfiler.Phase.PARTICLES);
         
         // Update power-up manager
+        profiler.begin(FrameProfiler.Phase.POWERUPS);
         powerUpManager.update();
+        profiler.end(FrameProfiler.Phase.POWERUPS);
         
         // Update background with stronger parallax effect based on player velocity
         updateBackground(player.getVelocity().x * 0.02f, player.getVelocity().y * 0.02f);
         
         // Auto-fire while mouse held, respect fire rate and power-ups
         if (mouseDown) {
-            attemptShoot();
+            attemptShoot(0); // held fire has no input event to time
         }
         
         // Handle collisions
+        profiler.begin(FrameProfiler.Phase.COLLISION);
         int destroyedAsteroids = CollisionDetector.handleProjectileAsteroidCollisions(projectiles, asteroids, asteroidManager);
+        profiler.end(FrameProfiler.Phase.COLLISION);
         
         // Update level progress
         if (destroyedAsteroids > 0) {
@@ -309,7 +398,10 @@ public class GameCore extends JComponent{
         score += destroyedAsteroids * 100; // 100 points per asteroid
         
         // Check for player-asteroid collisions
-        if (CollisionDetector.handlePlayerAsteroidCollisions(player, asteroids, asteroidManager)) {
+        profiler.begin(FrameProfiler.Phase.COLLISION);
+        boolean playerHit = CollisionDetector.handlePlayerAsteroidCollisions(player, asteroids, asteroidManager);
+        profiler.end(FrameProfiler.Phase.COLLISION);
+        if (playerHit) {
             boolean wasInvulnerable = player.isInvulnerable();
             player.takeDamage(10); // Player takes damage when hit by asteroid (no-op if invulnerable)
             
@@ -318,17 +410,15 @@ public class GameCore extends JComponent{
                 soundManager.playSound("hit");
                 // Start screen shake only when damage actually applied
                 screenShaking = true;
-                screenShakeStartTime = System.currentTimeMillis();
+                if (screenShakeTimeout != null) screenShakeTimeout.cancel();
+                screenShakeTimeout = timers.schedule(SCREEN_SHAKE_DURATION, () -> screenShaking = false);
             }
         }
         
         // Check for player-powerup collisions
+        profiler.begin(FrameProfiler.Phase.POWERUPS);
         checkPlayerPowerUpCollisions();
-        
-        // Update screen shake
-        if (screenShaking && System.currentTimeMillis() - screenShakeStartTime > SCREEN_SHAKE_DURATION) {
-            screenShaking = false;
-        }
+        profiler.end(FrameProfiler.Phase.POWERUPS);
     }
     
     private void checkPlayerPowerUpCollisions() {
@@ -338,7 +428,7 @@ public class GameCore extends JComponent{
         for (PowerUp powerUp : powerUps) {
             if (!powerUp.isCollected() && powerUp.getCollisionShape().intersects(playerBounds)) {
                 // Collect power-up
-                powerUp.collect();
+                powerUpManager.collect(powerUp);
                 
                 // Apply power-up effect
                 player.activatePowerUp(powerUp.getType());
@@ -407,59 +497,102 @@ public class GameCore extends JComponent{
     }
 
     private void draw() {
+        profiler.begin(FrameProfiler.Phase.BACKGROUND);
         drawBackground();
+        profiler.end(FrameProfiler.Phase.BACKGROUND);
         
+        if (currentState != GameState.MENU) {
+            profiler.begin(FrameProfiler.Phase.GAME_DRAW);
+            drawGameplay(); // Paused and game over draw the game in the background
+            profiler.end(FrameProfiler.Phase.GAME_DRAW);
+        }
+        
+        profiler.begin(FrameProfiler.Phase.UI);
         switch (currentState) {
             case MENU:
                 drawMenu();
                 break;
                 
             case PLAYING:
-                drawGameplay();
                 drawUI();
                 break;
                 
             case PAUSED:
-                drawGameplay(); // Draw the game in the background
                 drawPauseScreen();
                 break;
                 
             case GAME_OVER:
-                drawGameplay(); // Draw the game in the background
                 drawGameOver();
                 break;
         }
+        profiler.end(FrameProfiler.Phase.UI);
         
-        render();
+        if (showLatencyOverlay) {
+            drawLatencyOverlay();
+        }
+        if (showProfilerOverlay) {
+            profiler.drawOverlay(g2, arcadeFontSmall, width - 270, 10);
+        }
+    }
+    
+    private void drawLatencyOverlay() {
+        g2.setFont(arcadeFontSmall);
+        String summary = latencyTracker.getSummary();
+        int textWidth = g2.getFontMetrics().stringWidth(summary);
+        g2.setColor(new Color(0, 0, 0, 160));
+        g2.fillRect(10, height - 34, textWidth + 16, 24);
+        g2.setColor(Color.GREEN);
+        g2.drawString(summary, 18, height - 16);
     }
     
     private void drawGameplay() {
+        // Off-screen entities are skipped; the margin covers the screen shake offset
+        viewCuller.beginFrame(width, height, SCREEN_SHAKE_INTENSITY);
+        
         // Apply screen shake transform if active
         AffineTransform originalTransform = g2.getTransform();
+        int shakeX = 0;
+        int shakeY = 0;
         if (screenShaking) {
-            int shakeX = (int) (Math.random() * SCREEN_SHAKE_INTENSITY * 2 - SCREEN_SHAKE_INTENSITY);
-            int shakeY = (int) (Math.random() * SCREEN_SHAKE_INTENSITY * 2 - SCREEN_SHAKE_INTENSITY);
+            shakeX = (int) (Math.random() * SCREEN_SHAKE_INTENSITY * 2 - SCREEN_SHAKE_INTENSITY);
+            shakeY = (int) (Math.random() * SCREEN_SHAKE_INTENSITY * 2 - SCREEN_SHAKE_INTENSITY);
             g2.translate(shakeX, shakeY);
         }
         
-        drawGame();
+        player.draw(g2);
         
-        // Reset transform after drawing game elements
+        // Reset transform after drawing the player
         g2.setTransform(originalTransform);
         
+        // Projectiles and asteroids are submitted with the shake offset
+        renderCommands.setOrigin(shakeX, shakeY);
+        drawGame();
+        renderCommands.setOrigin(0, 0);
+        
         // Draw spawn telegraphs (not affected by screen shake)
         if (asteroidManager != null) {
             asteroidManager.drawTelegraphs(g2);
         }
         
-        // Draw power-ups (not affected by screen shake)
-        powerUpManager.draw(g2);
+        // Submit power-ups (not affected by screen shake)
+        powerUpManager.submit(renderCommands, viewCuller);
+        
+        // Execute all sprite commands sorted by layer, sprite and alpha
+        renderCommands.flush(g2);
         
-        // Draw particles (not affected by screen shake)
-        particleSystem.draw(g2);
+        // Draw particles (not affected by screen shake); the banded rasterizer already composited them
+        if (bandedRasterizer == null) {
+            particleSystem.draw(g2, viewCuller);
+        }
     }
     
     private void drawMenu() {
+        // Show asset loading progress until everything in the manifest is decoded
+        AssetLoader assets = AssetLoader.getInstance();
+        if (!assets.isComplete()) {
+            drawLoadingBar(assets.getProgress());
+        }
+        
         // Draw title with arcade style
         g2.setColor(Color.WHITE);
         g2.setFont(arcadeFontLarge);
@@ -510,6 +643,24 @@ public class GameCore extends JComponent{
         drawTextWithGlow(g2, startText, width / 2 - textWidth / 2, height - 100, pulseColor, Color.BLUE);
     }
     
+    private void drawLoadingBar(float progress) {
+        int barWidth = 300;
+        int barHeight = 10;
+        int barX = width / 2 - barWidth / 2;
+        int barY = height - 60;
+        
+        g2.setColor(new Color(50, 50, 50, 200));
+        g2.fillRect(barX, barY, barWidth, barHeight);
+        g2.setColor(new Color(0, 150, 255));
+        g2.fillRect(barX, barY, (int) (barWidth * progress), barHeight);
+        g2.setColor(Color.WHITE);
+        g2.drawRect(barX, barY, barWidth, barHeight);
+        
+        g2.setFont(arcadeFontSmall);
+        String text = "LOADING " + (int) (progress * 100) + "%";
+        g2.drawString(text, width / 2 - g2.getFontMetrics().stringWidth(text) / 2, barY - 6);
+    }
+    
     private void drawPauseScreen() {
         // Semi-transparent overlay
         g2.setColor(new Color(0, 0, 0, 150)); // Semi-transparent black
@@ -527,7 +678,7 @@ public class GameCore extends JComponent{
         // Draw instructions
         g2.setFont(arcadeFont);
         
-        // Make the text pulse
+        // Make the text pulse (wall clock, so it keeps pulsing while the game clock is paused)
         long time = System.currentTimeMillis();
         float pulse = (float)Math.sin(time / 200.0) * 0.2f + 0.8f;
         Color pulseColor = new Color(pulse, pulse, 1.0f);
@@ -539,7 +690,9 @@ public class GameCore extends JComponent{
         // Draw additional options
         String[] options = {
             "M: Toggle Sound",
-            "B: Change Background"
+            "B: Change Background",
+            "R: Render Scale (" + userRenderScale.getPercent() + "%)",
+            "Q: Adaptive Quality (" + (requestedAdaptiveQuality ? adaptiveQuality.getTier() : "OFF") + ")"
         };
         
         int y = height / 2 + 100;
@@ -550,13 +703,33 @@ public class GameCore extends JComponent{
         }
     }
 
-    private void render() {
-        Graphics g = getGraphics();
-        g.drawImage(image, 0, 0, null);
+    private void render(Frame frame) {
+        Graphics2D g = (Graphics2D) getGraphics();
+        if (g == null) return; // component not displayable (e.g. window closing)
+        long renderStart = System.nanoTime();
+        if (frame.image.getWidth() == width && frame.image.getHeight() == height) {
+            g.drawImage(frame.image, 0, 0, null);
+        } else {
+            // Scale the internal resolution to the window in a single blit
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, presentInterpolation);
+            g.drawImage(frame.image, 0, 0, width, height, null);
+        }
         g.dispose();
+        long presented = System.nanoTime();
+        // Handed to the game thread with the frame itself, like sequence in the other direction
+        frame.renderNanos = presented - renderStart;
+        latencyTracker.presented(frame.sequence, presented);
     }
 
     private void drawBackground() {
+        if (bandedRasterizer != null) {
+            // Background (and particles while in a game) are written straight into the frame's pixels
+            boolean withParticles = currentState != GameState.MENU;
+            bandedRasterizer.rasterize(image, (float) image.getWidth() / width, backgroundManager,
+                withParticles ? particleSystem : null);
+            return;
+        }
+        
         // Clear background
         g2.setColor(Color.BLACK);
         g2.fillRect(0, 0, width, height);
@@ -581,15 +754,22 @@ public class GameCore extends JComponent{
     }
 
     private void drawGame() {
-        player.draw(g2);
         for (int i = 0; i < projectiles.size(); i++) {
-            if (projectiles.get(i) != null) {
-                projectiles.get(i).draw(g2);
+            Projectile projectile = projectiles.get(i);
+            if (projectile != null && viewCuller.isVisible(projectile)) {
+                projectile.submit(renderCommands);
+                long inputTimestamp = projectile.getInputTimestamp();
+                if (inputTimestamp != 0) {
+                    // First frame showing this shot; timed when the render thread presents it
+                    latencyTracker.drawn(inputTimestamp, frameSequence);
+                    projectile.setInputTimestamp(0);
+                }
             }
         }
         for (int i = 0; i < asteroids.size(); i++) {
-            if (asteroids.get(i) != null) {
-                asteroids.get(i).draw(g2);
+            Asteroid asteroid = asteroids.get(i);
+            if (asteroid != null && viewCuller.isVisible(asteroid.getPosition().x, asteroid.getPosition().y, asteroid.getSize(), asteroid.getSize())) {
+                asteroid.submit(renderCommands);
             }
         }
     }
@@ -678,19 +858,19 @@ public class GameCore extends JComponent{
         int x = startX;
         
         if (player.hasActiveShield()) {
-            g2.drawImage(new ImageIcon("src/game/resource/img/powerups/Box_Item_3.png").getImage(), 
+            g2.drawImage(AssetLoader.getInstance().getImage("src/game/resource/img/powerups/Box_Item_3.png"), 
                         x, startY, iconSize, iconSize, null);
             x += iconSize + spacing;
         }
         
         if (player.hasRapidFire()) {
-            g2.drawImage(new ImageIcon("src/game/resource/img/powerups/Box_Item_11.png").getImage(), 
+            g2.drawImage(AssetLoader.getInstance().getImage("src/game/resource/img/powerups/Box_Item_11.png"), 
                         x, startY, iconSize, iconSize, null);
             x += iconSize + spacing;
         }
         
         if (player.hasTripleShot()) {
-            g2.drawImage(new ImageIcon("src/game/resource/img/powerups/Box_Item_8.png").getImage(), 
+            g2.drawImage(AssetLoader.getInstance().getImage("src/game/resource/img/powerups/Box_Item_8.png"), 
                         x, startY, iconSize, iconSize, null);
         }
     }
@@ -718,7 +898,7 @@ public class GameCore extends JComponent{
         g2.drawString(levelText, width / 2 - textWidth / 2, height / 2 + 30);
         
         // Show restart option after delay
-        if (System.currentTimeMillis() - gameOverTime > RESTART_DELAY) {
+        if (gameClock.currentTimeMillis() - gameOverTime > RESTART_DELAY) {
             g2.setFont(arcadeFont);
             String restartText = "PRESS SPACE TO RESTART";
             textWidth = g2.getFontMetrics().stringWidth(restartText);
@@ -763,16 +943,120 @@ public class GameCore extends JComponent{
         asteroidManager.spawnInitialAsteroids(INITIAL_ASTEROID_COUNT);
         asteroids = asteroidManager.getAsteroids();
         
-        // Reset power-ups
+        // Reset power-ups; the next natural spawn is a full interval into the new game
         powerUpManager.clear();
+        powerUpManager.setNaturalSpawns(true);
     }
 
     private void initGFX() {
-        //Background
-        image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
-        g2 = image.createGraphics();
-        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-        g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        rebuildFrames();
+    }
+    
+    private void rebuildFrames() {
+        // Three frames: one being drawn, one being presented, one ready in between
+        renderScale = requestedRenderScale;
+        antialiasing = requestedAntialiasing;
+        Frame[] previous = frameSet;
+        frameSet = new Frame[] {
+            new Frame(width, height, renderScale, antialiasing),
+            new Frame(width, height, renderScale, antialiasing),
+            new Frame(width, height, renderScale, antialiasing)
+        };
+        frames = new TripleBuffer<>(frameSet[0], frameSet[1], frameSet[2]);
+        if (previous != null) {
+            // The render thread may still be presenting one; it disposes them once it moves to the new buffer
+            retiredFrames.addAll(List.of(previous));
+        }
+        image = frames.getBack().image;
+        g2 = frames.getBack().g2;
+    }
+    
+    private void applyQuality(AdaptiveQuality.Tier tier) {
+        requestedAntialiasing = tier.isAntialiasing() && userAntialiasing;
+        requestedRenderScale = tier.getRenderScale(userRenderScale);
+        particleSystem.setMaxParticles(tier.getParticleCap());
+        powerUpManager.setGlowEnabled(tier.isGlow());
+        backgroundManager.setMaxLayers(tier.getParallaxLayers());
+    }
+    
+    private void restoreUserQuality() {
+        // Back to the user's settings and the components' uncapped defaults
+        requestedAntialiasing = userAntialiasing;
+        requestedRenderScale = userRenderScale;
+        particleSystem.setMaxParticles(Integer.MAX_VALUE);
+        powerUpManager.setGlowEnabled(true);
+        backgroundManager.setMaxLayers(Integer.MAX_VALUE);
+    }
+    
+    public void setRenderScale(RenderScale scale) {
+        // Applied by the game thread at the start of the next frame
+        userRenderScale = scale;
+        requestedRenderScale = scale;
+    }
+    
+    public RenderScale getRenderScale() {
+        return renderScale;
+    }
+    
+    public ViewCuller getViewCuller() {
+        return viewCuller;
+    }
+    
+    private void commitFrameEvent(FrameEvent event) {
+        event.sequence = frameSequence;
+        event.asteroidsTime = profiler.getLastNanos(FrameProfiler.Phase.ASTEROIDS);
+        event.particlesTime = profiler.getLastNanos(FrameProfiler.Phase.PARTICLES);
+        event.powerUpsTime = profiler.getLastNanos(FrameProfiler.Phase.POWERUPS);
+        event.collisionTime = profiler.getLastNanos(FrameProfiler.Phase.COLLISION);
+        event.backgroundTime = profiler.getLastNanos(FrameProfiler.Phase.BACKGROUND);
+        event.gameDrawTime = profiler.getLastNanos(FrameProfiler.Phase.GAME_DRAW);
+        event.uiTime = profiler.getLastNanos(FrameProfiler.Phase.UI);
+        event.asteroidCount = asteroids.size();
+        event.projectileCount = projectiles.size();
+        event.particleCount = particleSystem.getParticleCount();
+        event.powerUpCount = powerUpManager.getPowerUps().size();
+        event.commit();
+    }
+    
+    public FrameProfiler getProfiler() {
+        return profiler;
+    }
+    
+    public LatencyTracker getLatencyTracker() {
+        return latencyTracker;
+    }
+    
+    private void exportLatencyReport() {
+        if (!latencyReportRequested || latencyTracker.getCount() == 0) return;
+        File report = new File(System.getProperty("asteroids.latencyReport", "latency-report.txt"));
+        try {
+            latencyTracker.exportReport(report);
+            System.out.println("Latency report written to " + report.getAbsolutePath());
+        } catch (IOException e) {
+            System.err.println("Error writing latency report: " + e.getMessage());
+        }
+    }
+    
+    public void setPresentInterpolation(Object interpolationHint) {
+        this.presentInterpolation = interpolationHint;
+    }
+    
+    private static class Frame {
+        private final BufferedImage image;
+        private final Graphics2D g2;
+        private long sequence; // written before publish, read after the render thread takes the frame
+        private long renderNanos; // written after presenting, read once the frame comes back as the back buffer
+        
+        Frame(int width, int height, RenderScale scale, boolean antialiasing) {
+            image = new BufferedImage(scale.scaled(width), scale.scaled(height), BufferedImage.TYPE_INT_ARGB);
+            g2 = image.createGraphics();
+            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
+                antialiasing ? RenderingHints.VALUE_ANTIALIAS_ON : RenderingHints.VALUE_ANTIALIAS_OFF);
+            g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+                antialiasing ? RenderingHints.VALUE_INTERPOLATION_BILINEAR : RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+            // Draw calls stay in window coordinates; the transform maps them to the internal resolution
+            g2.scale((double) image.getWidth() / width, (double) image.getHeight() / height);
+        }
     }
 
     private void initInput() {
@@ -781,12 +1065,16 @@ public class GameCore extends JComponent{
         addKeyListener(new KeyAdapter() {
             @Override
             public void keyPressed(KeyEvent e) { 
+                long inputTimestamp = System.nanoTime(); // arrival time, carried with the queued key event
+                
                 // Handle game state transitions
                 if (e.getKeyCode() == KeyEvent.VK_P) {
                     if (currentState == GameState.PLAYING) {
                         currentState = GameState.PAUSED;
+                        gameClock.setPaused(true);
                     } else if (currentState == GameState.PAUSED) {
                         currentState = GameState.PLAYING;
+                        gameClock.setPaused(false);
                     }
                 }
                 
@@ -795,6 +1083,33 @@ public class GameCore extends JComponent{
                     soundManager.toggleSound();
                 }
                 
+                // Cycle background theme with B key
+                if (e.getKeyCode() == KeyEvent.VK_B) {
+                    themeChangeRequested = true;
+                }
+                
+                // Cycle internal render resolution with R key (takes over from adaptive quality)
+                if (e.getKeyCode() == KeyEvent.VK_R) {
+                    requestedAdaptiveQuality = false;
+                    setRenderScale(userRenderScale.next());
+                }
+                
+                // Toggle the frame profiler overlay with F2
+                if (e.getKeyCode() == KeyEvent.VK_F2) {
+                    showProfilerOverlay = !showProfilerOverlay;
+                }
+                
+                // Toggle the input latency overlay with F3
+                if (e.getKeyCode() == KeyEvent.VK_F3) {
+                    showLatencyOverlay = !showLatencyOverlay;
+                    latencyReportRequested = true;
+                }
+                
+                // Toggle adaptive quality with Q key
+                if (e.getKeyCode() == KeyEvent.VK_Q) {
+                    requestedAdaptiveQuality = !requestedAdaptiveQuality;
+                }
+                
                 // Start game from menu
                 if (e.getKeyCode() == KeyEvent.VK_SPACE && currentState == GameState.MENU) {
                     // Stop menu music and start gameplay
@@ -804,36 +1119,51 @@ public class GameCore extends JComponent{
                 
                 // Forward input to player if playing
                 if (currentState == GameState.PLAYING) {
-                    inputListenerEvent(InputEventTypes.KEY_PRESSED, e.getKeyCode());
+                    inputListenerEvent(InputEventTypes.KEY_PRESSED, e.getKeyCode(), inputTimestamp);
                 }
                 
                 // Handle space key for restart in game over state
                 if (e.getKeyCode() == KeyEvent.VK_SPACE) {
-                    playerInput.setKey_space(true);
+                    playerInput.keyPressUpdate(InputEventTypes.KEY_PRESSED, KeyEvent.VK_SPACE, inputTimestamp);
                 }
             }
 
             @Override
             public void keyReleased(KeyEvent e) {
+                long inputTimestamp = System.nanoTime();
+                
                 // Forward input to player if playing
                 if (currentState == GameState.PLAYING) {
-                    inputListenerEvent(InputEventTypes.KEY_RELEASED, e.getKeyCode());
+                    inputListenerEvent(InputEventTypes.KEY_RELEASED, e.getKeyCode(), inputTimestamp);
                 }
                 
                 // Handle space key for restart
                 if (e.getKeyCode() == KeyEvent.VK_SPACE) {
-                    playerInput.setKey_space(false);
+                    playerInput.keyPressUpdate(InputEventTypes.KEY_RELEASED, KeyEvent.VK_SPACE, inputTimestamp);
                 }
             }
         });
 
+        addMouseMotionListener(new MouseMotionAdapter() {
+            @Override
+            public void mouseMoved(MouseEvent e) {
+                // Component coordinates are game coordinates, whatever the window decorations
+                player.setPointerPosition(e.getX(), e.getY());
+            }
+            @Override
+            public void mouseDragged(MouseEvent e) {
+                player.setPointerPosition(e.getX(), e.getY());
+            }
+        });
+
         addMouseListener(new MouseAdapter() {
             @Override
             public void mousePressed(MouseEvent e) {
+                long inputTimestamp = System.nanoTime(); // arrival time, for input-to-photon latency
                 if (currentState == GameState.PLAYING) {
                     mouseDown = true;
                     // Immediate attempt on press
-                    attemptShoot();
+                    attemptShoot(inputTimestamp);
                 }
             }
             @Override
@@ -844,11 +1174,21 @@ public class GameCore extends JComponent{
     }
 
     public void inputListenerEvent(InputEventTypes eventType, int keyCode) {
-        player.setInputToMap(eventType, keyCode);
+        inputListenerEvent(eventType, keyCode, System.nanoTime());
+    }
+
+    private void inputListenerEvent(InputEventTypes eventType, int keyCode, long inputTimestamp) {
+        player.setInputToMap(eventType, keyCode, inputTimestamp);
     }
 
     private void initGameObjects() {
-        player = new Player(window);
+        player = new Player();
+        player.setTimers(timers);
+        // Aim at wherever the pointer already is; later moves arrive through the motion listener
+        Point pointer = getMousePosition();
+        if (pointer != null) {
+            player.setPointerPosition(pointer.x, pointer.y);
+        }
         player.setPosition(new Vector2(width / 2 - (float)Player.PLAYER_DIMENSIONS / 2, 
                                       height / 2 - (float)Player.PLAYER_DIMENSIONS / 2));
         
@@ -870,7 +1210,7 @@ public class GameCore extends JComponent{
         particleSystem = new ParticleSystem();
         
         // Initialize power-up manager
-        powerUpManager = new PowerUpManager();
+        powerUpManager = new PowerUpManager(timers);
         
         // Initialize player input
         playerInput = new PlayerInput();
@@ -880,11 +1220,9 @@ public class GameCore extends JComponent{
         projectiles = new ArrayList<>();
 
         new Thread(() -> {
-            long frameStartTime = 0;
-            long frameRenderTime = 0;
+            // Housekeeping only; no need to spend CPU on precise wake-ups
+            FramePacer pacer = new FramePacer(TARGET_TIME, FramePacer.Mode.EFFICIENT);
             while (start) {
-                frameStartTime = System.nanoTime();
-
                 //use update on all projectiles
 
                 for (int i = 0; i < projectiles.size(); i++) {
@@ -899,17 +1237,17 @@ public class GameCore extends JComponent{
                     }
                 }
 
-                frameRenderTime = System.nanoTime() - frameStartTime;
-                if (frameRenderTime < TARGET_TIME) {
-                    sleep((TARGET_TIME - frameRenderTime) / 1000000);
-                }
-
+                pacer.awaitNextFrame();
             }
         }).start();
     }
 
     public void playerShoot(int weapon) {
-        projectiles.add(player.shoot(weapon));
+        playerShoot(weapon, 0);
+    }
+    
+    private void playerShoot(int weapon, long inputTimestamp) {
+        projectiles.add(player.shoot(weapon, inputTimestamp));
     }
     
     private long currentFireInterval() {
@@ -920,20 +1258,12 @@ public class GameCore extends JComponent{
         return baseFireIntervalMs;
     }
     
-    private void attemptShoot() {
-        long now = System.currentTimeMillis();
+    private void attemptShoot(long inputTimestamp) {
+        long now = gameClock.currentTimeMillis();
         if (now - lastShotTime >= currentFireInterval()) {
-            playerShoot(1);
+            playerShoot(1, inputTimestamp);
             soundManager.playSound("shoot");
             lastShotTime = now;
         }
     }
-
-    private void sleep(long t) {
-        try {
-            Thread.sleep(t);
-        } catch (InterruptedException e) {
-            System.err.println("Thread interrupted: " + e.getMessage());
-        }
-    }
 }
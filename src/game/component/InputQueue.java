@@ -0,0 +1,57 @@
+package game.component;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lock-free multi-producer, single-consumer queue of timestamped input events.
+ * Listener threads offer events as they arrive; the owning update thread drains them at
+ * the start of its tick. Producers never block each other or the consumer.
+ */
+public class InputQueue {
+
+    /** One input event, stamped with System.nanoTime() when it arrived. */
+    public static class Event {
+        private final InputEventTypes type;
+        private final int code;
+        private final long timestamp;
+        private volatile Event next;
+
+        Event(InputEventTypes type, int code, long timestamp) {
+            this.type = type;
+            this.code = code;
+            this.timestamp = timestamp;
+        }
+
+        public InputEventTypes getType() {
+            return type;
+        }
+
+        /** Key code for key events, mouse button for mouse events. */
+        public int getCode() {
+            return code;
+        }
+
+        public long getTimestamp() {
+            return timestamp;
+        }
+    }
+
+    // The consumer owns head, a consumed placeholder; producers swing tail and then link
+    private Event head = new Event(null, 0, 0);
+    private final AtomicReference<Event> tail = new AtomicReference<>(head);
+
+    public void offer(InputEventTypes type, int code, long timestamp) {
+        Event event = new Event(type, code, timestamp);
+        Event previous = tail.getAndSet(event);
+        previous.next = event;
+    }
+
+    /** Next event in arrival order, or null if none is visible yet. Consumer thread only. */
+    public Event poll() {
+        Event next = head.next;
+        if (next == null) return null;
+        head.next = null; // let the consumed node be collected
+        head = next;
+        return next;
+    }
+}
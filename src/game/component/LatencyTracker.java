@@ -0,0 +1,120 @@
+package game.component;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Arrays;
+
+/**
+ * Input-to-photon latency histogram.
+ * An input stamp (System.nanoTime at listener arrival) is attached to the frame in which its
+ * result is first drawn; when the render thread presents that frame or any later one, the
+ * elapsed time is recorded. Frames dropped by the triple buffer therefore count against the
+ * next frame that reaches the screen.
+ */
+public class LatencyTracker {
+    private static final int BUCKET_MICROS = 100;    // 0.1 ms resolution
+    private static final int BUCKETS = 10_000;       // up to 1 s; slower samples land in the last bucket
+    private static final int MAX_PENDING = 64;
+
+    private final int[] histogram = new int[BUCKETS];
+    private long count = 0;
+    private long totalMicros = 0;
+    private long maxMicros = 0;
+
+    // Stamps drawn but not yet presented, with the sequence number of the frame they were drawn in
+    private final long[] pendingStamps = new long[MAX_PENDING];
+    private final long[] pendingFrames = new long[MAX_PENDING];
+    private int pendingCount = 0;
+
+    /** Game thread: the result of the input stamped inputNanos was drawn into frame frameSequence. */
+    public synchronized void drawn(long inputNanos, long frameSequence) {
+        if (pendingCount == MAX_PENDING) return;
+        pendingStamps[pendingCount] = inputNanos;
+        pendingFrames[pendingCount] = frameSequence;
+        pendingCount++;
+    }
+
+    /** Render thread: frame frameSequence has just been presented. */
+    public synchronized void presented(long frameSequence, long presentNanos) {
+        int kept = 0;
+        for (int i = 0; i < pendingCount; i++) {
+            if (pendingFrames[i] <= frameSequence) {
+                record((presentNanos - pendingStamps[i]) / 1000);
+            } else {
+                pendingStamps[kept] = pendingStamps[i];
+                pendingFrames[kept] = pendingFrames[i];
+                kept++;
+            }
+        }
+        pendingCount = kept;
+    }
+
+    private void record(long micros) {
+        micros = Math.max(0, micros);
+        histogram[(int) Math.min(BUCKETS - 1, micros / BUCKET_MICROS)]++;
+        count++;
+        totalMicros += micros;
+        maxMicros = Math.max(maxMicros, micros);
+    }
+
+    /** Latency in milliseconds at the given percentile (0-100), or 0 without samples. */
+    public synchronized float getPercentile(float percentile) {
+        if (count == 0) return 0;
+        long target = (long) Math.ceil(count * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += histogram[i];
+            if (seen >= Math.max(1, target)) {
+                return (i + 1) * BUCKET_MICROS / 1000f; // upper edge of the bucket
+            }
+        }
+        return BUCKETS * BUCKET_MICROS / 1000f;
+    }
+
+    public synchronized long getCount() {
+        return count;
+    }
+
+    public synchronized float getMeanMillis() {
+        return count == 0 ? 0 : totalMicros / (float) count / 1000f;
+    }
+
+    public synchronized float getMaxMillis() {
+        return maxMicros / 1000f;
+    }
+
+    public synchronized void reset() {
+        Arrays.fill(histogram, 0);
+        count = 0;
+        totalMicros = 0;
+        maxMicros = 0;
+        pendingCount = 0;
+    }
+
+    /** One-line summary for the debug overlay. */
+    public String getSummary() {
+        return String.format("INPUT->PHOTON  p50 %.1f  p95 %.1f  p99 %.1f ms  (n=%d)",
+            getPercentile(50), getPercentile(95), getPercentile(99), getCount());
+    }
+
+    /** Writes the summary and the non-empty histogram buckets as plain text. */
+    public synchronized void exportReport(File file) throws IOException {
+        try (PrintWriter out = new PrintWriter(new FileWriter(file))) {
+            out.println("# Input-to-photon latency (mouse press to first presented frame with the shot)");
+            out.printf("samples %d%n", count);
+            out.printf("mean_ms %.2f%n", getMeanMillis());
+            out.printf("p50_ms %.1f%n", getPercentile(50));
+            out.printf("p95_ms %.1f%n", getPercentile(95));
+            out.printf("p99_ms %.1f%n", getPercentile(99));
+            out.printf("max_ms %.2f%n", getMaxMillis());
+            out.println("# bucket_upper_ms count");
+            for (int i = 0; i < BUCKETS; i++) {
+                if (histogram[i] > 0) {
+                    out.printf("%.1f %d%n", (i + 1) * BUCKET_MICROS / 1000f, histogram[i]);
+                }
+            }
+        }
+    }
+}
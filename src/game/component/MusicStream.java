@@ -0,0 +1,164 @@
+package game.component;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Supplier;
+
+/**
+ * Music track decoded incrementally from its compressed file.
+ * The mixer thread tops up a small ring buffer of PCM each block, so only the ring and the
+ * decoder's own buffers are ever resident, never the whole track. Looping reopens the
+ * source while the ring still holds the end of the previous pass, so there is no gap.
+ */
+public class MusicStream {
+    private static final int RING_FRAMES = 16384;     // ~370 ms at 44.1 kHz, 64 KB
+    private static final int LOW_WATER_FRAMES = 4096; // decode more when the ring drops below this
+    private static final int CHUNK_BYTES = 4096;      // compressed-side PCM read per decode step
+
+    private final String name;
+    private final Supplier<InputStream> source;
+    private final boolean loop;
+    private volatile float gain;
+
+    // Mixer-thread state
+    private AudioInputStream pcm;
+    private int sourceChannels;
+    private double step;         // source frames per output frame
+    private double phase = 1;    // resampler position relative to the carried frame; starts on the first real frame
+    private final short[] carry = new short[AudioMixer.CHANNELS];
+    private final short[] ring = new short[RING_FRAMES * AudioMixer.CHANNELS];
+    private final byte[] chunk = new byte[CHUNK_BYTES];
+    private long readFrame = 0;
+    private long writeFrame = 0;
+    private boolean finished = false;
+    private boolean passHadAudio = false; // guards against looping an empty track forever
+
+    private MusicStream(String name, Supplier<InputStream> source, boolean loop, float gain) {
+        this.name = name;
+        this.source = source;
+        this.loop = loop;
+        this.gain = gain;
+    }
+
+    /** Opens a track for streaming, or returns null if it cannot be decoded. */
+    public static MusicStream open(String name, Supplier<InputStream> source, boolean loop, float gain) {
+        MusicStream stream = new MusicStream(name, source, loop, gain);
+        return stream.openSource() ? stream : null;
+    }
+
+    private boolean openSource() {
+        InputStream in = source.get();
+        if (in == null) {
+            System.err.println("Music file not found: " + name);
+            return false;
+        }
+        try {
+            AudioInputStream encoded = AudioSystem.getAudioInputStream(in);
+            AudioFormat format = encoded.getFormat();
+            AudioFormat pcmFormat = new AudioFormat(format.getSampleRate(), 16, format.getChannels(), true, false);
+            pcm = AudioSystem.getAudioInputStream(pcmFormat, encoded);
+            sourceChannels = pcmFormat.getChannels();
+            step = pcmFormat.getSampleRate() / AudioMixer.SAMPLE_RATE;
+            return true;
+        } catch (UnsupportedAudioFileException | IllegalArgumentException e) {
+            System.err.println("No decoder for music: " + name + " (needs an audio service provider on the classpath, or afplay)");
+        } catch (IOException e) {
+            System.err.println("Error opening music: " + name + " - " + e.getMessage());
+        }
+        closeQuietly(in);
+        return false;
+    }
+
+    public void setGain(float gain) {
+        this.gain = Math.max(0.0f, gain);
+    }
+
+    public boolean isFinished() {
+        return finished && readFrame == writeFrame;
+    }
+
+    /** Adds the next frames of music to the mix; called on the mixer thread. */
+    void mixInto(float[] mix) {
+        int frames = mix.length / AudioMixer.CHANNELS;
+        while (!finished && writeFrame - readFrame < Math.max(frames, LOW_WATER_FRAMES)) {
+            decodeChunk();
+        }
+
+        float g = gain;
+        int available = (int) Math.min(frames, writeFrame - readFrame);
+        for (int f = 0; f < available; f++) {
+            int index = (int) ((readFrame + f) % RING_FRAMES) * AudioMixer.CHANNELS;
+            for (int c = 0; c < AudioMixer.CHANNELS; c++) {
+                mix[f * AudioMixer.CHANNELS + c] += ring[index + c] * g;
+            }
+        }
+        readFrame += available;
+    }
+
+    // Reads one chunk of PCM and resamples it into the ring
+    private void decodeChunk() {
+        int frameBytes = 2 * sourceChannels;
+        int read;
+        try {
+            read = pcm.read(chunk, 0, CHUNK_BYTES - CHUNK_BYTES % frameBytes);
+        } catch (IOException e) {
+            System.err.println("Error decoding music: " + name + " - " + e.getMessage());
+            read = -1;
+        }
+
+        if (read <= 0) {
+            closeQuietly(pcm);
+            // Reopen at the start; the resampler state carries over so the seam is continuous
+            if (!loop || !passHadAudio || !openSource()) {
+                finished = true;
+            }
+            passHadAudio = false;
+            return;
+        }
+        passHadAudio = true;
+
+        int sourceFrames = read / frameBytes;
+        // Positions are relative to the carried frame (index 0); chunk frame i sits at i + 1.
+        // One chunk yields at most a few thousand frames, so it always fits above the low-water mark.
+        while (phase <= sourceFrames) {
+            int i = (int) phase;
+            float t = (float) (phase - i);
+            int index = (int) (writeFrame % RING_FRAMES) * AudioMixer.CHANNELS;
+            for (int c = 0; c < AudioMixer.CHANNELS; c++) {
+                int sourceChannel = Math.min(c, sourceChannels - 1); // mono feeds both sides
+                float a = i == 0 ? carry[c] : sample(i - 1, sourceChannel);
+                float b = i == sourceFrames ? a : sample(i, sourceChannel);
+                ring[index + c] = (short) Math.round(a + (b - a) * t);
+            }
+            writeFrame++;
+            phase += step;
+        }
+        phase -= sourceFrames;
+        for (int c = 0; c < AudioMixer.CHANNELS; c++) {
+            carry[c] = sample(sourceFrames - 1, Math.min(c, sourceChannels - 1));
+        }
+    }
+
+    private short sample(int frame, int channel) {
+        int index = (frame * sourceChannels + channel) * 2;
+        return (short) ((chunk[index] & 0xFF) | (chunk[index + 1] << 8));
+    }
+
+    /** Releases the decoder; called on the mixer thread when the stream is replaced. */
+    void close() {
+        closeQuietly(pcm);
+        finished = true;
+    }
+
+    private static void closeQuietly(InputStream in) {
+        if (in == null) return;
+        try {
+            in.close();
+        } catch (IOException ignored) {
+        }
+    }
+}
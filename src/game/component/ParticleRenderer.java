@@ -0,0 +1,97 @@
+package game.component;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Draws particles as pre-rasterized disc sprites.
+ * Colors come from a 256-step alpha ramp per base color, and sprites are cached per
+ * color, size and quantized alpha level, so drawing a particle is a single drawImage
+ * without any Color allocation or Graphics2D state change.
+ */
+class ParticleRenderer {
+    private static final int ALPHA_STEPS = 256;
+    private static final int SPRITE_ALPHA_LEVELS = 32; // quantization of the fade for cached sprites
+    private static final int MAX_SPRITE_SIZE = 127;
+
+    private final Map<Integer, Color[]> alphaRamps = new HashMap<>();
+    private final Map<Long, BufferedImage> sprites = new HashMap<>();
+
+    // Reused between frames to avoid allocating while sorting
+    private long[] sortKeys = new long[256];
+
+    public Color[] getAlphaRamp(Color base) {
+        int rgb = base.getRGB() & 0xFFFFFF;
+        Color[] ramp = alphaRamps.get(rgb);
+        if (ramp == null) {
+            ramp = new Color[ALPHA_STEPS];
+            for (int i = 0; i < ALPHA_STEPS; i++) {
+                ramp[i] = new Color(base.getRed(), base.getGreen(), base.getBlue(), i);
+            }
+            alphaRamps.put(rgb, ramp);
+        }
+        return ramp;
+    }
+
+    public void draw(Graphics2D g2, List<ParticleSystem.Particle> particles, ViewCuller culler) {
+        int count = particles.size();
+        if (count == 0) return;
+        if (sortKeys.length < count) {
+            sortKeys = new long[Math.max(count, sortKeys.length * 2)];
+        }
+
+        // Bucket particles by color, size and alpha level; the index rides in the low bits
+        int keyCount = 0;
+        for (int i = 0; i < count; i++) {
+            ParticleSystem.Particle particle = particles.get(i);
+            int size = Math.min(particle.getSize(), MAX_SPRITE_SIZE);
+            if (size <= 0) continue;
+            if (!culler.isVisible(particle.getPosition().x, particle.getPosition().y, size, size)) continue;
+            sortKeys[keyCount++] = ((long) particle.getRgb() << 32)
+                    | ((long) size << 25)
+                    | ((long) alphaLevel(particle.getAlpha()) << 20)
+                    | i;
+        }
+        Arrays.sort(sortKeys, 0, keyCount);
+
+        long currentBucket = -1;
+        BufferedImage sprite = null;
+        for (int k = 0; k < keyCount; k++) {
+            long key = sortKeys[k];
+            long bucket = key >>> 20;
+            if (bucket != currentBucket) {
+                currentBucket = bucket;
+                sprite = getSprite(bucket);
+            }
+            ParticleSystem.Particle particle = particles.get((int) (key & 0xFFFFF));
+            g2.drawImage(sprite, (int) particle.getPosition().x, (int) particle.getPosition().y, null);
+        }
+    }
+
+    private int alphaLevel(float alpha) {
+        alpha = Math.max(0.0f, Math.min(1.0f, alpha));
+        return Math.round(alpha * (SPRITE_ALPHA_LEVELS - 1));
+    }
+
+    private BufferedImage getSprite(long bucket) {
+        BufferedImage sprite = sprites.get(bucket);
+        if (sprite == null) {
+            int rgb = (int) (bucket >>> 12);
+            int size = (int) ((bucket >>> 5) & 0x7F);
+            int alphaLevel = (int) (bucket & 0x1F);
+            Color color = getAlphaRamp(new Color(rgb))[alphaLevel * (ALPHA_STEPS - 1) / (SPRITE_ALPHA_LEVELS - 1)];
+            sprite = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D sg = sprite.createGraphics();
+            sg.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            sg.setColor(color);
+            sg.fillOval(0, 0, size, size);
+            sg.dispose();
+            sprites.put(bucket, sprite);
+        }
+        return sprite;
+    }
+}
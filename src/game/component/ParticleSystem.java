@@ -9,14 +9,18 @@ import java.util.Random;
 public class ParticleSystem {
     private List<Particle> particles;
     private Random random;
+    private ParticleRenderer renderer;
+    private int maxParticles = Integer.MAX_VALUE;
     
     public ParticleSystem() {
         particles = new ArrayList<>();
         random = new Random();
+        renderer = new ParticleRenderer();
     }
     
     public void createExplosion(Vector2 position, Color color, int count, int size) {
         for (int i = 0; i < count; i++) {
+            if (particles.size() >= maxParticles) break; // respect quality cap
             float angle = random.nextFloat() * 360;
             float speed = 1 + random.nextFloat() * 3;
             
@@ -33,12 +37,12 @@ public class ParticleSystem {
     }
     
     public void update() {
-        long currentTime = System.currentTimeMillis();
+        long currentTime = GameClock.getInstance().currentTimeMillis(); // one read for every particle
         Iterator<Particle> iterator = particles.iterator();
         
         while (iterator.hasNext()) {
             Particle particle = iterator.next();
-            particle.update();
+            particle.update(currentTime);
             
             if (currentTime - particle.getCreationTime() > particle.getLifetime()) {
                 iterator.remove();
@@ -46,9 +50,23 @@ public class ParticleSystem {
         }
     }
     
-    public void draw(Graphics2D g2) {
+    public void draw(Graphics2D g2, ViewCuller culler) {
+        // Batched by color, size and alpha level in the renderer
+        renderer.draw(g2, particles, culler);
+    }
+    
+    public void rasterize(RasterWriter writer, float scale) {
+        // Software path used by the banded rasterizer; the writer clips to its band
         for (Particle particle : particles) {
-            particle.draw(g2);
+            int diameter = Math.round(particle.getSize() * scale);
+            if (diameter <= 0) continue;
+            float alpha = Math.max(0.0f, Math.min(1.0f, particle.getAlpha()));
+            writer.fillDisc(
+                (int) (particle.getPosition().x * scale),
+                (int) (particle.getPosition().y * scale),
+                diameter,
+                ((int) (alpha * 255) << 24) | particle.getRgb()
+            );
         }
     }
     
@@ -56,10 +74,14 @@ public class ParticleSystem {
         return particles.size();
     }
     
-    private class Particle {
+    public void setMaxParticles(int maxParticles) {
+        this.maxParticles = maxParticles;
+    }
+    
+    static class Particle {
         private Vector2 position;
         private Vector2 velocity;
-        private Color color;
+        private int rgb;
         private int size;
         private long creationTime;
         private int lifetime;
@@ -68,13 +90,13 @@ public class ParticleSystem {
         public Particle(Vector2 position, Vector2 velocity, Color color, int size, int lifetime) {
             this.position = new Vector2(position);
             this.velocity = velocity;
-            this.color = color;
+            this.rgb = color.getRGB() & 0xFFFFFF;
             this.size = size;
-            this.creationTime = System.currentTimeMillis();
+            this.creationTime = GameClock.getInstance().currentTimeMillis();
             this.lifetime = lifetime;
         }
         
-        public void update() {
+        public void update(long currentTime) {
             position.add(velocity);
             
             // Slow down over time
@@ -82,7 +104,6 @@ public class ParticleSystem {
             velocity.y *= 0.98f;
             
             // Fade out over time
-            long currentTime = System.currentTimeMillis();
             long elapsedTime = currentTime - creationTime;
             alpha = 1.0f - ((float) elapsedTime / lifetime);
             
@@ -92,16 +113,20 @@ public class ParticleSystem {
             }
         }
         
-        public void draw(Graphics2D g2) {
-            Color particleColor = new Color(
-                color.getRed(),
-                color.getGreen(),
-                color.getBlue(),
-                (int) (255 * alpha)
-            );
-            
-            g2.setColor(particleColor);
-            g2.fillOval((int) position.x, (int) position.y, size, size);
+        public Vector2 getPosition() {
+            return position;
+        }
+        
+        public int getRgb() {
+            return rgb;
+        }
+        
+        public int getSize() {
+            return size;
+        }
+        
+        public float getAlpha() {
+            return alpha;
         }
         
         public long getCreationTime() {
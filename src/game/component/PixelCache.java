@@ -0,0 +1,177 @@
+package game.component;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * On-disk cache of decoded image pixels, so warm starts skip PNG inflation.
+ * Each entry is named after its asset path and stores the SHA-256 of the source file;
+ * an entry whose hash no longer matches is treated as a miss and rewritten.
+ * Entries are memory-mapped and copied straight into a TYPE_INT_ARGB image.
+ *
+ * Entry layout (native byte order): int magic, int version, byte[32] source hash,
+ * int width, int height, width * height ARGB pixels. An entry written on a machine with
+ * the other byte order fails the magic check and is simply rebuilt.
+ */
+public class PixelCache {
+    private static final int MAGIC = 0x50584C43; // "PXLC"
+    private static final int VERSION = 1;
+    private static final int HASH_LENGTH = 32;
+    private static final int HEADER_SIZE = 8 + HASH_LENGTH + 8;
+
+    // Small sprites decode faster than an entry can be opened and mapped
+    private static final int MIN_CACHED_PIXELS = 256 * 256;
+
+    private final File directory;
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicInteger misses = new AtomicInteger();
+
+    private PixelCache(File directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Opens the cache in -Dasteroids.pixelCache, or ~/.asteroids/pixel-cache by default.
+     * Returns null if the cache is turned off ("off") or the directory cannot be created.
+     */
+    public static PixelCache open() {
+        String configured = System.getProperty("asteroids.pixelCache");
+        if ("off".equals(configured)) return null;
+        File directory = configured != null
+                ? new File(configured)
+                : new File(System.getProperty("user.home"), ".asteroids/pixel-cache");
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            System.err.println("Pixel cache disabled, cannot create " + directory);
+            return null;
+        }
+        return new PixelCache(directory);
+    }
+
+    /** SHA-256 of the remaining bytes of the source; the buffer's position is not changed. */
+    public static byte[] hash(ByteBuffer source) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(source.duplicate());
+            return digest.digest();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e); // SHA-256 is required on every Java platform
+        }
+    }
+
+    /** Cached pixels for the asset, or null if there is no entry for this source hash. */
+    public BufferedImage load(String path, byte[] sourceHash) {
+        File entry = entryFile(path);
+        if (!entry.isFile()) {
+            misses.incrementAndGet();
+            return null;
+        }
+
+        try (FileChannel channel = FileChannel.open(entry.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE) {
+                misses.incrementAndGet();
+                return null;
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            mapped.order(ByteOrder.nativeOrder());
+
+            if (mapped.getInt(0) != MAGIC || mapped.getInt(4) != VERSION || !hashMatches(mapped, sourceHash)) {
+                misses.incrementAndGet();
+                return null;
+            }
+            int width = mapped.getInt(8 + HASH_LENGTH);
+            int height = mapped.getInt(12 + HASH_LENGTH);
+            if (width <= 0 || height <= 0 || size != HEADER_SIZE + (long) width * height * 4) {
+                misses.incrementAndGet();
+                return null;
+            }
+
+            int[] pixels = new int[width * height];
+            mapped.position(HEADER_SIZE);
+            IntBuffer source = mapped.slice().order(ByteOrder.nativeOrder()).asIntBuffer();
+            source.get(pixels);
+
+            // setDataElements copies into the image without making its raster untrackable,
+            // so Java2D can still cache it as a managed image
+            BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+            image.getRaster().setDataElements(0, 0, width, height, pixels);
+            hits.incrementAndGet();
+            return image;
+        } catch (IOException e) {
+            System.err.println("Error reading pixel cache entry " + entry + " - " + e.getMessage());
+            misses.incrementAndGet();
+            return null;
+        }
+    }
+
+    /** Writes the decoded pixels of a TYPE_INT_ARGB image; small images are not cached. */
+    public void store(String path, byte[] sourceHash, BufferedImage image) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        if ((long) width * height < MIN_CACHED_PIXELS || image.getType() != BufferedImage.TYPE_INT_ARGB) return;
+
+        int[] pixels = (int[]) image.getRaster().getDataElements(0, 0, width, height, null);
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + pixels.length * 4).order(ByteOrder.nativeOrder());
+        buffer.putInt(MAGIC).putInt(VERSION).put(sourceHash).putInt(width).putInt(height);
+        buffer.asIntBuffer().put(pixels);
+        buffer.rewind(); // the int view wrote the pixels without moving this buffer past the header
+
+        // Write to a temporary file and rename, so readers never see a partial entry
+        File entry = entryFile(path);
+        File temp = null;
+        try {
+            temp = File.createTempFile(entry.getName(), ".tmp", directory);
+            try (FileChannel channel = FileChannel.open(temp.toPath(), StandardOpenOption.WRITE)) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+            Files.move(temp.toPath(), entry.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Error writing pixel cache entry " + entry + " - " + e.getMessage());
+            if (temp != null) temp.delete();
+        }
+    }
+
+    private boolean hashMatches(MappedByteBuffer mapped, byte[] sourceHash) {
+        if (sourceHash.length != HASH_LENGTH) return false;
+        for (int i = 0; i < HASH_LENGTH; i++) {
+            if (mapped.get(8 + i) != sourceHash[i]) return false;
+        }
+        return true;
+    }
+
+    private File entryFile(String path) {
+        byte[] digest = hash(ByteBuffer.wrap(path.getBytes(StandardCharsets.UTF_8)));
+        StringBuilder name = new StringBuilder();
+        for (int i = 0; i < 16; i++) {
+            name.append(String.format("%02x", digest[i]));
+        }
+        return new File(directory, name.append(".pix").toString());
+    }
+
+    public int getHits() {
+        return hits.get();
+    }
+
+    public int getMisses() {
+        return misses.get();
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+}
@@ -1,113 +1,161 @@
 package game.component;
 
-import javax.swing.*;
-import java.awt.*;
 import java.awt.event.KeyEvent;
-import java.util.HashMap;
 
 
+/**
+ * Key and mouse-button state for one consumer thread.
+ * Listener threads queue events through keyPressUpdate; the consumer calls beginTick() once
+ * at the start of each tick, which applies them to primitive bitsets. Besides the held
+ * state, each tick records which keys went down or up since the previous tick, so a tap
+ * shorter than a tick is still seen.
+ */
 public class PlayerInput {
 
-    HashMap<String, Boolean> keys = new HashMap<>();
+    private static final int KEY_CODES = 1024; // virtual key codes above this are ignored
+    private static final int WORDS = KEY_CODES / 64;
+
+    private final InputQueue events = new InputQueue();
+
+    // Consumer-thread state
+    private final long[] down = new long[WORDS];
+    private final long[] pressed = new long[WORDS];
+    private final long[] released = new long[WORDS];
+    private int mouseButtons = 0;        // bit per button (MouseEvent.BUTTON1 = bit 1)
+    private int mousePressedEdges = 0;
+    private long lastEventTimestamp = 0;
+
+    // Pointer in game component coordinates, x and y float bits packed so one write publishes both
+    private static final long NO_POINTER = pack(Float.NaN, Float.NaN);
+    private volatile long pointer = NO_POINTER;
+    private final Vector2 pointerSample = new Vector2(Float.NaN, Float.NaN);
 
     public PlayerInput() {
-        keys.put("key_right", false);
-        keys.put("key_left", false);
-        keys.put("key_up", false);
-        keys.put("key_down", false);
-        keys.put("key_space", false);
-        //Add mouse input
-        keys.put("mouse_left", false);
-        keys.put("mouse_right", false);
+    }
 
+    /** Applies queued events and starts a new set of pressed/released edges. */
+    public void beginTick() {
+        java.util.Arrays.fill(pressed, 0L);
+        java.util.Arrays.fill(released, 0L);
+        mousePressedEdges = 0;
+
+        // One read per tick, so everything aiming this tick sees the same position
+        long sampled = pointer;
+        pointerSample.x = Float.intBitsToFloat((int) (sampled >>> 32));
+        pointerSample.y = Float.intBitsToFloat((int) sampled);
+
+        InputQueue.Event event;
+        while ((event = events.poll()) != null) {
+            int code = event.getCode();
+            switch (event.getType()) {
+                case KEY_PRESSED:
+                    if (code >= 0 && code < KEY_CODES && !test(down, code)) {
+                        set(down, code, true);
+                        set(pressed, code, true);
+                    }
+                    break;
+                case KEY_RELEASED:
+                    if (code >= 0 && code < KEY_CODES && test(down, code)) {
+                        set(down, code, false);
+                        set(released, code, true);
+                    }
+                    break;
+                case MOUSE_PRESSED:
+                    mouseButtons |= 1 << (code & 31);
+                    mousePressedEdges |= 1 << (code & 31);
+                    break;
+                case MOUSE_RELEASED:
+                    mouseButtons &= ~(1 << (code & 31));
+                    break;
+            }
+            lastEventTimestamp = event.getTimestamp();
+        }
     }
 
+    private static boolean test(long[] bits, int code) {
+        return (bits[code >>> 6] & (1L << code)) != 0;
+    }
 
-    public boolean isKey_right() {
-        return keys.get("key_right");
+    private static void set(long[] bits, int code, boolean value) {
+        if (value) {
+            bits[code >>> 6] |= 1L << code;
+        } else {
+            bits[code >>> 6] &= ~(1L << code);
+        }
     }
 
-    public void setKey_right(boolean key_right) {
-        this.keys.put("key_right", key_right);
+    /** Held now, or tapped since the last tick. */
+    public boolean isKeyDown(int keyCode) {
+        return keyCode >= 0 && keyCode < KEY_CODES && (test(down, keyCode) || test(pressed, keyCode));
     }
 
-    public boolean isKey_left() {
-        return keys.get("key_left");
+    public boolean wasPressed(int keyCode) {
+        return keyCode >= 0 && keyCode < KEY_CODES && test(pressed, keyCode);
     }
 
-    public void setKey_left(boolean key_left) {
-        this.keys.put("key_left", key_left);
+    public boolean wasReleased(int keyCode) {
+        return keyCode >= 0 && keyCode < KEY_CODES && test(released, keyCode);
     }
 
-    public boolean isKey_up() {
-        return keys.get("key_up");
+    /** Arrival time (System.nanoTime) of the newest event applied by beginTick. */
+    public long getLastEventTimestamp() {
+        return lastEventTimestamp;
     }
 
-    public void setKey_up(boolean key_up) {
-        this.keys.put("key_up", key_up);
+
+    public boolean isKey_right() {
+        return isKeyDown(KeyEvent.VK_RIGHT);
     }
 
-    public boolean isKey_down() {
-        return keys.get("key_down");
+    public boolean isKey_left() {
+        return isKeyDown(KeyEvent.VK_LEFT);
     }
 
-    public void setKey_down(boolean key_down) {
-        this.keys.put("key_down", key_down);
+    public boolean isKey_up() {
+        return isKeyDown(KeyEvent.VK_UP);
     }
 
-    public boolean isKey_space() {
-        return keys.get("key_space");
+    public boolean isKey_down() {
+        return isKeyDown(KeyEvent.VK_DOWN);
     }
 
-    public void setKey_space(boolean key_space) {
-        this.keys.put("key_space", key_space);
+    public boolean isKey_space() {
+        return isKeyDown(KeyEvent.VK_SPACE);
     }
 
-    public boolean isMouse_left() { return keys.get("mouse_left"); }
-    public void setMouse_left(boolean mouse_left) { this.keys.put("mouse_left", mouse_left); }
-    public boolean isMouse_right() { return keys.get("mouse_right"); }
-    public void setMouse_right(boolean mouse_right) { this.keys.put("mouse_right", mouse_right); }
+    public boolean isMouse_left() { return (mouseButtons & (1 << 1)) != 0 || (mousePressedEdges & (1 << 1)) != 0; }
+    public boolean isMouse_right() { return (mouseButtons & (1 << 3)) != 0 || (mousePressedEdges & (1 << 3)) != 0; }
 
 
 
 
-    public Vector2 getMousePositionInGame(JFrame window) {
-        return new Vector2 (
-                MouseInfo.getPointerInfo().getLocation().x - window.getLocationOnScreen().x,
-                MouseInfo.getPointerInfo().getLocation().y - window.getLocationOnScreen().y - 30
-        ); //-30 accounts for the title bar
+    /** Publishes the pointer position from a mouse listener; safe from any thread. */
+    public void setPointer(float x, float y) {
+        pointer = pack(x, y);
+    }
+
+    private static long pack(float x, float y) {
+        return ((long) Float.floatToRawIntBits(x) << 32) | (Float.floatToRawIntBits(y) & 0xFFFFFFFFL);
+    }
+
+    /** Pointer position sampled at the last beginTick(), in game coordinates. */
+    public Vector2 getPointer() {
+        return pointerSample;
     }
 
+    /** False until the pointer has moved over the game at least once. */
+    public boolean hasPointer() {
+        return !Float.isNaN(pointerSample.x);
+    }
+
+    /** Queues an event from any thread; it takes effect at the consumer's next beginTick(). */
     public void keyPressUpdate(InputEventTypes eventType, int keyCode) {
-        if (eventType == InputEventTypes.KEY_PRESSED) {
-            if (keyCode == KeyEvent.VK_LEFT) {
-                setKey_left(true);
-            } else if (keyCode == KeyEvent.VK_RIGHT) {
-                setKey_right(true);
-            } else if (keyCode == KeyEvent.VK_UP) {
-                setKey_up(true);
-            } else if (keyCode == KeyEvent.VK_DOWN) {
-                setKey_down(true);
-            } else if (keyCode == KeyEvent.VK_SPACE) {
-                setKey_space(true);
-            }
-        } else if (eventType == InputEventTypes.KEY_RELEASED) {
-            if (keyCode == KeyEvent.VK_LEFT) {
-                setKey_left(false);
-            } else if (keyCode == KeyEvent.VK_RIGHT) {
-                setKey_right(false);
-            } else if (keyCode == KeyEvent.VK_UP) {
-                setKey_up(false);
-            } else if (keyCode == KeyEvent.VK_DOWN) {
-                setKey_down(false);
-            } else if (keyCode == KeyEvent.VK_SPACE) {
-                setKey_space(false);
-            }
-        } else if (eventType == InputEventTypes.MOUSE_PRESSED) {
-            System.out.println("Mouse pressed. Button: " + keyCode);
-        } else if(eventType == InputEventTypes.MOUSE_RELEASED) {
-            System.out.println("Mouse released. Button: " + keyCode);
-        }
+        keyPressUpdate(eventType, keyCode, System.nanoTime());
+    }
+
+    /** Queues an event stamped with its arrival time (System.nanoTime) in the listener. */
+    public void keyPressUpdate(InputEventTypes eventType, int keyCode, long timestamp) {
+        events.offer(eventType, keyCode, timestamp);
     }
 
 }
@@ -4,43 +4,57 @@ import game.object.Asteroid;
 import game.object.PowerUp;
 import game.object.PowerUp.PowerUpType;
 
-import java.awt.*;
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Random;
 
 public class PowerUpManager {
     private List<PowerUp> powerUps;
     private Random random;
-    private long lastSpawnTime;
+    private final TimingWheel timers;
+    private TimingWheel.Timeout spawnTimer; // null while natural spawns are off
+    private boolean collectedPending = false;
     private final long SPAWN_INTERVAL = 15000; // 15 seconds between natural spawns
     private final float ASTEROID_SPAWN_CHANCE = 0.3f; // 30% chance to spawn from destroyed asteroid
+    private boolean glowEnabled = true;
     
-    public PowerUpManager() {
+    public PowerUpManager(TimingWheel timers) {
         powerUps = new ArrayList<>();
         random = new Random();
-        lastSpawnTime = System.currentTimeMillis();
+        this.timers = timers;
     }
     
-    public void update() {
-        // Check for natural spawns
-        long currentTime = System.currentTimeMillis();
-        if (currentTime - lastSpawnTime > SPAWN_INTERVAL) {
-            spawnRandomPowerUp();
-            lastSpawnTime = currentTime;
+    /** Arms or cancels the natural spawn timer; an armed timer waits a full interval. Game thread only. */
+    public void setNaturalSpawns(boolean enabled) {
+        if (enabled && spawnTimer == null) {
+            scheduleNaturalSpawn();
+        } else if (!enabled && spawnTimer != null) {
+            spawnTimer.cancel();
+            spawnTimer = null;
         }
-        
-        // Remove expired or collected power-ups
-        Iterator<PowerUp> iterator = powerUps.iterator();
-        while (iterator.hasNext()) {
-            PowerUp powerUp = iterator.next();
-            if (powerUp.isCollected() || powerUp.isExpired()) {
-                iterator.remove();
-            }
+    }
+    
+    private void scheduleNaturalSpawn() {
+        spawnTimer = timers.schedule(SPAWN_INTERVAL, () -> {
+            spawnRandomPowerUp();
+            scheduleNaturalSpawn();
+        });
+    }
+    
+    public void update() {
+        // Remove collected power-ups; expired ones remove themselves from their timer
+        if (collectedPending) {
+            collectedPending = false;
+            powerUps.removeIf(PowerUp::isCollected);
         }
     }
     
+    /** Collects a power-up; it leaves the list at the next update. */
+    public void collect(PowerUp powerUp) {
+        powerUp.collect();
+        collectedPending = true;
+    }
+    
     public void checkAsteroidDestroyed(Asteroid asteroid) {
         // Chance to spawn power-up when asteroid is destroyed
         if (random.nextFloat() < ASTEROID_SPAWN_CHANCE) {
@@ -67,20 +81,35 @@ public class PowerUpManager {
         PowerUpType type = types[random.nextInt(types.length)];
         
         PowerUp powerUp = new PowerUp(position, type);
+        powerUp.scheduleExpiry(timers, () -> powerUps.remove(powerUp));
         powerUps.add(powerUp);
     }
     
-    public void draw(Graphics2D g2) {
+    public void submit(RenderCommands commands, ViewCuller culler) {
         for (PowerUp powerUp : powerUps) {
-            powerUp.draw(g2);
+            // Bounds include the pulse and the glow margin
+            float extent = powerUp.getDrawExtent();
+            float inset = (extent - powerUp.getSize()) / 2;
+            if (culler.isVisible(powerUp.getPosition().x - inset, powerUp.getPosition().y - inset, extent, extent)) {
+                powerUp.submit(commands, glowEnabled);
+            }
         }
     }
     
+    public void setGlowEnabled(boolean glowEnabled) {
+        this.glowEnabled = glowEnabled;
+    }
+    
     public List<PowerUp> getPowerUps() {
         return powerUps;
     }
     
+    /** Removes every power-up and stops natural spawns until setNaturalSpawns(true). */
     public void clear() {
+        setNaturalSpawns(false);
+        for (PowerUp powerUp : powerUps) {
+            powerUp.cancelExpiry();
+        }
         powerUps.clear();
     }
 }
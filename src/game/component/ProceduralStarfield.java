@@ -0,0 +1,234 @@
+package game.component;
+
+import java.awt.*;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Endless parallax starfield built from square tiles.
+ * Every tile is generated from a hash of (seed, layer, tileX, tileY), so the same tile
+ * always looks the same and the field never repeats. A tile is only its list of stars,
+ * a few ints, so tiles are generated on demand and kept in a bounded LRU cache: memory
+ * stays constant however far the player travels, and stars are drawn straight from the
+ * lists. All methods except rasterizeBand must be called from the game thread.
+ */
+public class ProceduralStarfield {
+    public static final int TILE_SIZE = 128;
+
+    // Per layer, back to front: parallax factors and average stars per tile
+    // (the same densities as the old full-screen fallback layers of 100, 50 and 30 stars)
+    private static final float[] PARALLAX_X = {0.0f, 0.05f, 0.1f};
+    private static final float[] PARALLAX_Y = {0.0f, 0.02f, 0.05f};
+    private static final float[] STARS_PER_TILE = {1.8f, 0.9f, 0.55f};
+
+    // A tile's stars are packed as x, y, size, brightness, with x and y inside the tile
+    private static final int STAR_STRIDE = 4;
+    private static final int[] NO_STARS = new int[0];
+    private static final int MIN_BRIGHTNESS = 150;
+    private static final Color[] GRAYS = new Color[256 - MIN_BRIGHTNESS];
+
+    static {
+        for (int i = 0; i < GRAYS.length; i++) {
+            int brightness = MIN_BRIGHTNESS + i;
+            GRAYS[i] = new Color(brightness, brightness, brightness);
+        }
+    }
+
+    private final long seed;
+    private final int viewWidth;
+    private final int viewHeight;
+    private final double[] offsetX = new double[PARALLAX_X.length];
+    private final double[] offsetY = new double[PARALLAX_X.length];
+
+    private final int capacity;
+    private final LinkedHashMap<Long, int[]> tiles;
+
+    // Tile grid resolved by prepareRaster; band workers only read it
+    private final RasterGrid[] rasterGrids = new RasterGrid[PARALLAX_X.length];
+
+    public ProceduralStarfield(long seed, int viewWidth, int viewHeight) {
+        this.seed = seed;
+        this.viewWidth = viewWidth;
+        this.viewHeight = viewHeight;
+
+        // Room for every layer's view plus a ring of tiles, with some slack
+        int columns = viewWidth / TILE_SIZE + 4;
+        int rows = viewHeight / TILE_SIZE + 4;
+        this.capacity = PARALLAX_X.length * columns * rows;
+        this.tiles = new LinkedHashMap<Long, int[]>(capacity * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, int[]> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    public int getLayerCount() {
+        return PARALLAX_X.length;
+    }
+
+    public void update(float playerVelocityX, float playerVelocityY) {
+        // Offsets are never wrapped; tile coordinates keep growing instead
+        for (int layer = 0; layer < PARALLAX_X.length; layer++) {
+            offsetX[layer] -= playerVelocityX * PARALLAX_X[layer];
+            offsetY[layer] -= playerVelocityY * PARALLAX_Y[layer];
+        }
+    }
+
+    public void draw(Graphics2D g2, int layerCount) {
+        for (int layer = 0; layer < Math.min(layerCount, PARALLAX_X.length); layer++) {
+            int originX = (int) Math.floor(offsetX[layer]);
+            int originY = (int) Math.floor(offsetY[layer]);
+            int tx0 = Math.floorDiv(originX, TILE_SIZE);
+            int ty0 = Math.floorDiv(originY, TILE_SIZE);
+            int tx1 = Math.floorDiv(originX + viewWidth - 1, TILE_SIZE);
+            int ty1 = Math.floorDiv(originY + viewHeight - 1, TILE_SIZE);
+
+            for (int ty = ty0; ty <= ty1; ty++) {
+                for (int tx = tx0; tx <= tx1; tx++) {
+                    int[] stars = tileStars(layer, tx, ty);
+                    int left = tx * TILE_SIZE - originX;
+                    int top = ty * TILE_SIZE - originY;
+                    for (int i = 0; i < stars.length; i += STAR_STRIDE) {
+                        g2.setColor(GRAYS[stars[i + 3] - MIN_BRIGHTNESS]);
+                        g2.fillRect(left + stars[i], top + stars[i + 1], stars[i + 2], stars[i + 2]);
+                    }
+                }
+            }
+        }
+    }
+
+    public void prepareRaster(int dstWidth, float scale, int layerCount) {
+        float inverseScale = 1.0f / scale;
+        int dstHeight = Math.round(viewHeight * scale);
+        for (int layer = 0; layer < Math.min(layerCount, PARALLAX_X.length); layer++) {
+            RasterGrid grid = rasterGrids[layer];
+            if (grid == null) {
+                grid = rasterGrids[layer] = new RasterGrid();
+            }
+            grid.prepare(layer, dstWidth, dstHeight, inverseScale);
+        }
+    }
+
+    public void rasterizeBand(int[] dst, int dstWidth, int y0, int y1, float scale, int layerCount) {
+        for (int layer = 0; layer < Math.min(layerCount, PARALLAX_X.length); layer++) {
+            RasterGrid grid = rasterGrids[layer];
+            if (grid != null) {
+                grid.rasterizeBand(dst, dstWidth, y0, y1, scale);
+            }
+        }
+    }
+
+    public int getCachedTileCount() {
+        return tiles.size();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    // --- Tile cache ---
+
+    private int[] tileStars(int layer, int tx, int ty) {
+        long key = tileKey(layer, tx, ty);
+        int[] stars = tiles.get(key);
+        if (stars == null) {
+            stars = generateTile(layer, tx, ty);
+            tiles.put(key, stars);
+        }
+        return stars;
+    }
+
+    private static long tileKey(int layer, int tx, int ty) {
+        return ((long) layer << 60) ^ ((tx & 0x3FFFFFFFL) << 30) ^ (ty & 0x3FFFFFFFL);
+    }
+
+    private int[] generateTile(int layer, int tx, int ty) {
+        // The generator is seeded by the tile's identity alone, so tiles come out the same every time
+        SplittableRandom random = new SplittableRandom(mix(seed ^ mix(tileKey(layer, tx, ty))));
+
+        float density = STARS_PER_TILE[layer];
+        int starCount = (int) density + (random.nextDouble() < density - (int) density ? 1 : 0);
+        if (starCount == 0) return NO_STARS;
+        int[] stars = new int[starCount * STAR_STRIDE];
+        for (int i = 0; i < stars.length; i += STAR_STRIDE) {
+            int size = random.nextInt(3) + 1;
+            // Stars stay inside their tile so they are never cut at a seam
+            stars[i] = random.nextInt(TILE_SIZE - size + 1);
+            stars[i + 1] = random.nextInt(TILE_SIZE - size + 1);
+            stars[i + 2] = size;
+            stars[i + 3] = MIN_BRIGHTNESS + random.nextInt(256 - MIN_BRIGHTNESS); // 150-255
+        }
+        return stars;
+    }
+
+    // 64-bit finalizer from MurmurHash3
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    // Visible tiles of one layer for a frame of the banded rasterizer
+    private class RasterGrid {
+        private int originX;
+        private int originY;
+        private int tx0;
+        private int ty0;
+        private int columns;
+        private int rows;
+        private int[][] cells = new int[0][]; // star lists, row-major
+
+        void prepare(int layer, int dstWidth, int dstHeight, float inverseScale) {
+            originX = (int) Math.floor(offsetX[layer]);
+            originY = (int) Math.floor(offsetY[layer]);
+            tx0 = Math.floorDiv(originX, TILE_SIZE);
+            ty0 = Math.floorDiv(originY, TILE_SIZE);
+            int tx1 = Math.floorDiv(originX + (int) ((dstWidth - 1) * inverseScale), TILE_SIZE);
+            int ty1 = Math.floorDiv(originY + (int) ((dstHeight - 1) * inverseScale), TILE_SIZE);
+            columns = tx1 - tx0 + 1;
+            rows = ty1 - ty0 + 1;
+
+            if (cells.length < columns * rows) {
+                cells = new int[columns * rows][];
+            }
+            for (int row = 0; row < rows; row++) {
+                for (int column = 0; column < columns; column++) {
+                    cells[row * columns + column] = tileStars(layer, tx0 + column, ty0 + row);
+                }
+            }
+        }
+
+        // Destination pixel x shows view pixel (int) (x / scale), so a star spanning view
+        // pixels [a, b) covers destination pixels [ceil(a * scale), ceil(b * scale))
+        void rasterizeBand(int[] dst, int dstWidth, int y0, int y1, float scale) {
+            for (int row = 0; row < rows; row++) {
+                for (int column = 0; column < columns; column++) {
+                    int[] stars = cells[row * columns + column];
+                    int left = (tx0 + column) * TILE_SIZE - originX;
+                    int top = (ty0 + row) * TILE_SIZE - originY;
+                    for (int i = 0; i < stars.length; i += STAR_STRIDE) {
+                        int size = stars[i + 2];
+                        int starY = top + stars[i + 1];
+                        int dy0 = Math.max(y0, (int) Math.ceil(starY * scale));
+                        int dy1 = Math.min(y1, (int) Math.ceil((starY + size) * scale));
+                        if (dy0 >= dy1) continue;
+                        int starX = left + stars[i];
+                        int dx0 = Math.max(0, (int) Math.ceil(starX * scale));
+                        int dx1 = Math.min(dstWidth, (int) Math.ceil((starX + size) * scale));
+                        if (dx0 >= dx1) continue;
+                        int brightness = stars[i + 3];
+                        int color = 0xFF000000 | brightness << 16 | brightness << 8 | brightness;
+                        for (int y = dy0; y < dy1; y++) {
+                            java.util.Arrays.fill(dst, y * dstWidth + dx0, y * dstWidth + dx1, color);
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package game.component;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+
+/**
+ * Writes small primitives straight into the int[] pixels of a TYPE_INT_ARGB_PRE image
+ * (or any opaque int-packed image, where premultiplied and straight alpha coincide).
+ * Colors are passed as straight ARGB and premultiplied once per call. Discs use masks
+ * rasterized by Graphics2D itself, so coverage matches a non-antialiased fillOval. Java2D
+ * fills opaque source-over ovals with a different loop than blended ones, so there is one
+ * set of masks for each.
+ */
+public class RasterWriter {
+    private static final int MASKED_DISC_LIMIT = 64;
+    private static final int[][] OPAQUE_DISC_SPANS = new int[MASKED_DISC_LIMIT + 1][];
+    private static final int[][] BLENDED_DISC_SPANS = new int[MASKED_DISC_LIMIT + 1][];
+
+    static {
+        for (int d = 1; d <= MASKED_DISC_LIMIT; d++) {
+            OPAQUE_DISC_SPANS[d] = rasterizeDiscSpans(d, true);
+            BLENDED_DISC_SPANS[d] = rasterizeDiscSpans(d, false);
+        }
+    }
+
+    private int[] pixels;
+    private int width;
+    private int height;
+    private int clipTop;
+    private int clipBottom;
+
+    public RasterWriter() {
+    }
+
+    public RasterWriter(BufferedImage image) {
+        reset(image);
+    }
+
+    public void reset(BufferedImage image) {
+        reset(((DataBufferInt) image.getRaster().getDataBuffer()).getData(), image.getWidth(), image.getHeight());
+    }
+
+    public void reset(int[] pixels, int width, int height) {
+        this.pixels = pixels;
+        this.width = width;
+        this.height = height;
+        this.clipTop = 0;
+        this.clipBottom = height;
+    }
+
+    /** Restricts writes to rows [top, bottom), e.g. one band of the banded rasterizer. */
+    public void setRowClip(int top, int bottom) {
+        this.clipTop = Math.max(0, top);
+        this.clipBottom = Math.min(height, bottom);
+    }
+
+    public void plot(int x, int y, int argb) {
+        if (x < 0 || x >= width || y < clipTop || y >= clipBottom) return;
+        int index = y * width + x;
+        pixels[index] = blendOver(pixels[index], premultiply(argb));
+    }
+
+    public void plotAdditive(int x, int y, int argb) {
+        if (x < 0 || x >= width || y < clipTop || y >= clipBottom) return;
+        int index = y * width + x;
+        pixels[index] = blendAdd(pixels[index], premultiply(argb));
+    }
+
+    public void fillRect(int x, int y, int w, int h, int argb) {
+        int left = Math.max(0, x);
+        int right = Math.min(width, x + w);
+        int top = Math.max(clipTop, y);
+        int bottom = Math.min(clipBottom, y + h);
+        int color = premultiply(argb);
+        for (int row = top; row < bottom; row++) {
+            blendSpan(row * width, left, right, color, false);
+        }
+    }
+
+    /** Same coverage as an opaque Graphics2D.fillOval(x, y, diameter, diameter) without antialiasing. */
+    public void fillDisc(int x, int y, int diameter, int argb) {
+        fillDisc(x, y, diameter, argb, false);
+    }
+
+    public void fillDiscAdditive(int x, int y, int diameter, int argb) {
+        fillDisc(x, y, diameter, argb, true);
+    }
+
+    private void fillDisc(int x, int y, int diameter, int argb, boolean additive) {
+        if (diameter <= 0) return;
+        int color = premultiply(argb);
+        int[] spans = discSpans(diameter, !additive && (color >>> 24) == 255);
+        int top = Math.max(clipTop, y);
+        int bottom = Math.min(clipBottom, y + diameter);
+        for (int row = top; row < bottom; row++) {
+            int span = (row - y) * 2;
+            if (spans[span] >= spans[span + 1]) continue;
+            int left = Math.max(0, x + spans[span]);
+            int right = Math.min(width, x + spans[span + 1]);
+            blendSpan(row * width, left, right, color, additive);
+        }
+    }
+
+    private void blendSpan(int rowOffset, int left, int right, int color, boolean additive) {
+        if (left >= right) return;
+        if (additive) {
+            for (int i = rowOffset + left; i < rowOffset + right; i++) {
+                pixels[i] = blendAdd(pixels[i], color);
+            }
+        } else if ((color >>> 24) == 255) {
+            java.util.Arrays.fill(pixels, rowOffset + left, rowOffset + right, color);
+        } else {
+            for (int i = rowOffset + left; i < rowOffset + right; i++) {
+                pixels[i] = blendOver(pixels[i], color);
+            }
+        }
+    }
+
+    // --- Pixel math on premultiplied ARGB ---
+
+    public static int premultiply(int argb) {
+        int a = argb >>> 24;
+        if (a == 255) return argb;
+        if (a == 0) return 0;
+        int r = ((argb >> 16) & 0xFF) * a / 255;
+        int g = ((argb >> 8) & 0xFF) * a / 255;
+        int b = (argb & 0xFF) * a / 255;
+        return (a << 24) | (r << 16) | (g << 8) | b;
+    }
+
+    public static int blendOver(int dst, int src) {
+        int a = src >>> 24;
+        if (a == 255) return src;
+        if (a == 0) return dst;
+        int ia = 255 - a;
+        int outA = a + ((dst >>> 24) * ia + 127) / 255;
+        int outR = ((src >> 16) & 0xFF) + (((dst >> 16) & 0xFF) * ia + 127) / 255;
+        int outG = ((src >> 8) & 0xFF) + (((dst >> 8) & 0xFF) * ia + 127) / 255;
+        int outB = (src & 0xFF) + ((dst & 0xFF) * ia + 127) / 255;
+        return (outA << 24) | (outR << 16) | (outG << 8) | outB;
+    }
+
+    public static int blendAdd(int dst, int src) {
+        int a = Math.min(255, (dst >>> 24) + (src >>> 24));
+        int r = Math.min(255, ((dst >> 16) & 0xFF) + ((src >> 16) & 0xFF));
+        int g = Math.min(255, ((dst >> 8) & 0xFF) + ((src >> 8) & 0xFF));
+        int b = Math.min(255, (dst & 0xFF) + (src & 0xFF));
+        return (a << 24) | (r << 16) | (g << 8) | b;
+    }
+
+    // --- Disc masks ---
+
+    private static int[] discSpans(int diameter, boolean opaque) {
+        if (diameter <= MASKED_DISC_LIMIT) {
+            return opaque ? OPAQUE_DISC_SPANS[diameter] : BLENDED_DISC_SPANS[diameter];
+        }
+        return rasterizeDiscSpans(diameter, opaque);
+    }
+
+    // Row spans [left, right) of Graphics2D's own fillOval, captured once per diameter.
+    // Any alpha below 255 takes the blended loop, and every alpha there gives the same coverage.
+    private static int[] rasterizeDiscSpans(int diameter, boolean opaque) {
+        BufferedImage mask = new BufferedImage(diameter, diameter, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = mask.createGraphics();
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
+        g2.setColor(opaque ? Color.WHITE : new Color(255, 255, 255, 128));
+        g2.fillOval(0, 0, diameter, diameter);
+        g2.dispose();
+
+        int[] spans = new int[diameter * 2];
+        for (int y = 0; y < diameter; y++) {
+            int left = 0;
+            int right = 0;
+            for (int x = 0; x < diameter; x++) {
+                if ((mask.getRGB(x, y) >>> 24) != 0) {
+                    if (left == right) left = x;
+                    right = x + 1;
+                }
+            }
+            spans[y * 2] = left;
+            spans[y * 2 + 1] = right;
+        }
+        return spans;
+    }
+}
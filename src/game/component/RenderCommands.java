@@ -0,0 +1,133 @@
+package game.component;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reusable buffer of sprite draw commands.
+ * Entities submit commands while the frame is built; flush() sorts them by layer,
+ * sprite and alpha and executes them with as few Graphics2D state changes as possible.
+ * Commands are stored in parallel primitive arrays, so a frame allocates nothing.
+ */
+public class RenderCommands {
+    // Layers are drawn in ascending order
+    public static final int LAYER_PROJECTILES = 0;
+    public static final int LAYER_ASTEROIDS = 1;
+    public static final int LAYER_POWERUPS = 2;
+    public static final int LAYER_POWERUP_GLOW = 3;
+
+    public static final int ANGLE_BUCKETS = 64;
+    private static final int MAX_COMMANDS = 1 << 24; // index bits in the sort key
+
+    // Sprite registry: id -> image. Entries live as long as the buffer and ids fill 24 sort-key
+    // bits, so submit shared images (asset cache, one per size), never one per entity
+    private final List<Image> sprites = new ArrayList<>();
+    private final Map<Image, Integer> spriteIds = new IdentityHashMap<>();
+
+    private int count = 0;
+    private int[] layers = new int[256];
+    private int[] spriteRefs = new int[256];
+    private float[] xs = new float[256];
+    private float[] ys = new float[256];
+    private float[] widths = new float[256];
+    private float[] heights = new float[256];
+    private int[] angleBuckets = new int[256];
+    private int[] alphaLevels = new int[256];
+    private long[] sortKeys = new long[256];
+
+    private float originX = 0;
+    private float originY = 0;
+    private final AffineTransform spriteTransform = new AffineTransform();
+
+    public int spriteId(Image image) {
+        Integer id = spriteIds.get(image);
+        if (id == null) {
+            id = sprites.size();
+            sprites.add(image);
+            spriteIds.put(image, id);
+        }
+        return id;
+    }
+
+    /** Offset added to all following commands, e.g. the screen shake for world layers. */
+    public void setOrigin(float x, float y) {
+        this.originX = x;
+        this.originY = y;
+    }
+
+    public void add(int layer, int spriteId, float x, float y, float width, float height, float angleDegrees, float alpha) {
+        int alphaLevel = AlphaLevels.levelOf(alpha);
+        if (alphaLevel == 0 || count >= MAX_COMMANDS) return;
+        if (count == layers.length) grow();
+
+        int bucket = Math.round(angleDegrees * ANGLE_BUCKETS / 360f) % ANGLE_BUCKETS;
+        if (bucket < 0) bucket += ANGLE_BUCKETS;
+
+        layers[count] = layer;
+        spriteRefs[count] = spriteId;
+        xs[count] = x + originX;
+        ys[count] = y + originY;
+        widths[count] = width;
+        heights[count] = height;
+        angleBuckets[count] = bucket;
+        alphaLevels[count] = alphaLevel;
+        count++;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public void flush(Graphics2D g2) {
+        // Sort key: layer | sprite | alpha | command index
+        for (int i = 0; i < count; i++) {
+            sortKeys[i] = ((long) layers[i] << 56)
+                    | ((long) spriteRefs[i] << 32)
+                    | ((long) alphaLevels[i] << 24)
+                    | i;
+        }
+        Arrays.sort(sortKeys, 0, count);
+
+        Composite oldComposite = g2.getComposite();
+        int currentAlpha = -1;
+        for (int k = 0; k < count; k++) {
+            int i = (int) (sortKeys[k] & (MAX_COMMANDS - 1));
+            if (alphaLevels[i] != currentAlpha) {
+                currentAlpha = alphaLevels[i];
+                g2.setComposite(AlphaLevels.get(currentAlpha));
+            }
+
+            // The sprite transform is applied on top of the frame transform, so g2's own transform is never touched
+            Image sprite = sprites.get(spriteRefs[i]);
+            spriteTransform.setToTranslation(xs[i], ys[i]);
+            if (angleBuckets[i] != 0) {
+                spriteTransform.rotate(angleBuckets[i] * (2 * Math.PI / ANGLE_BUCKETS), widths[i] / 2, heights[i] / 2);
+            }
+            spriteTransform.scale(widths[i] / sprite.getWidth(null), heights[i] / sprite.getHeight(null));
+            g2.drawImage(sprite, spriteTransform, null);
+        }
+        g2.setComposite(oldComposite);
+
+        count = 0;
+        originX = 0;
+        originY = 0;
+    }
+
+    private void grow() {
+        int capacity = layers.length * 2;
+        layers = Arrays.copyOf(layers, capacity);
+        spriteRefs = Arrays.copyOf(spriteRefs, capacity);
+        xs = Arrays.copyOf(xs, capacity);
+        ys = Arrays.copyOf(ys, capacity);
+        widths = Arrays.copyOf(widths, capacity);
+        heights = Arrays.copyOf(heights, capacity);
+        angleBuckets = Arrays.copyOf(angleBuckets, capacity);
+        alphaLevels = Arrays.copyOf(alphaLevels, capacity);
+        sortKeys = Arrays.copyOf(sortKeys, capacity);
+    }
+}
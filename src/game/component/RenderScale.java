@@ -0,0 +1,45 @@
+package game.component;
+
+public enum RenderScale {
+    HALF(0.5f),
+    THREE_QUARTERS(0.75f),
+    FULL(1.0f),
+    SUPERSAMPLED(1.5f);
+
+    private final float factor;
+
+    RenderScale(float factor) {
+        this.factor = factor;
+    }
+
+    public float getFactor() {
+        return factor;
+    }
+
+    public int getPercent() {
+        return Math.round(factor * 100);
+    }
+
+    public int scaled(int size) {
+        return Math.max(1, Math.round(size * factor));
+    }
+
+    public RenderScale next() {
+        RenderScale[] scales = values();
+        return scales[(ordinal() + 1) % scales.length];
+    }
+
+    /** The scale the given number of steps smaller, stopping at the smallest. */
+    public RenderScale stepDown(int steps) {
+        return values()[Math.max(0, ordinal() - steps)];
+    }
+
+    public static RenderScale fromPercent(int percent) {
+        for (RenderScale scale : values()) {
+            if (scale.getPercent() == percent) {
+                return scale;
+            }
+        }
+        return FULL;
+    }
+}
@@ -1,23 +1,29 @@
 package game.component;
 
-import javax.sound.sampled.*;
 import java.io.File;
-import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 
 public class SoundManager {
     private static SoundManager instance;
-    private Map<String, Clip> soundClips;
-    private Map<String, String> soundPaths; // supports mp3 via afplay
+    private static final int VOICES = 16;
+    private static final float DEFAULT_VOLUME = 0.3f;
+    
+    private final AudioMixer mixer = new AudioMixer(VOICES);
+    private Map<String, AudioMixer.PcmBuffer> soundBuffers; // decoded once, shared by aliases
+    private Map<String, SoundScheduler.SoundSpec> soundSpecs = new HashMap<>();
+    private Map<String, AudioMixer.PcmBuffer> decodedByPath = new HashMap<>(); // null when undecodable
+    private final ExternalPlayer fallback = ExternalPlayer.locate(); // null when there is no player
+    private Map<String, File> fallbackSounds = new HashMap<>(); // sounds the mixer cannot decode
+    private Map<String, File> fallbackByPath = new HashMap<>();
     private Map<String, String> musicPaths;
+    private Map<String, File> fallbackMusic = new HashMap<>(); // tracks only the platform player can decode
     private boolean soundEnabled = false; // disabled by default for now
-    private Process musicProcess = null;
+    private MusicStream music = null;
     private String currentMusicKey = null;
     
     private SoundManager() {
-        soundClips = new HashMap<>();
-        soundPaths = new HashMap<>();
+        soundBuffers = new HashMap<>();
         musicPaths = new HashMap<>();
         loadSounds();
     }
@@ -30,97 +36,89 @@ public class SoundManager {
     }
     
     private void loadSounds() {
-        // New resource layout uses mp3 under src/game/resource/audio
-        // Sound effects
-        registerSound("laser", "src/game/resource/audio/sounds/laser.mp3");
-        registerSound("shoot", "src/game/resource/audio/sounds/laser.mp3"); // alias for existing calls
-        registerSound("explosion", "src/game/resource/audio/sounds/explosion.mp3");
+        // Effects are 16-bit PCM WAV (transcoded from the mp3 originals beside them) so the mixer can decode them on a stock JDK
+        // Sound effects: priority, max simultaneous instances, coalescing window in ms
+        registerSound("laser", "src/game/resource/audio/sounds/laser.wav", new SoundScheduler.SoundSpec(1, 4, 30));
+        registerSound("shoot", "src/game/resource/audio/sounds/laser.wav", new SoundScheduler.SoundSpec(1, 4, 30)); // alias for existing calls
+        registerSound("explosion", "src/game/resource/audio/sounds/explosion.wav", new SoundScheduler.SoundSpec(2, 4, 60));
         // Map other events to closest available sounds as placeholders
-        registerSound("hit", "src/game/resource/audio/sounds/explosion.mp3");
-        registerSound("powerup", "src/game/resource/audio/sounds/laser.mp3");
-        registerSound("levelup", "src/game/resource/audio/sounds/laser.mp3");
-        registerSound("gameover", "src/game/resource/audio/sounds/explosion.mp3");
+        registerSound("hit", "src/game/resource/audio/sounds/explosion.wav", new SoundScheduler.SoundSpec(3, 2, 60));
+        registerSound("powerup", "src/game/resource/audio/sounds/laser.wav", new SoundScheduler.SoundSpec(3, 2, 60));
+        registerSound("levelup", "src/game/resource/audio/sounds/laser.wav", new SoundScheduler.SoundSpec(4, 1, 200));
+        registerSound("gameover", "src/game/resource/audio/sounds/explosion.wav", new SoundScheduler.SoundSpec(5, 1, 200));
 
         // Music
         registerMusic("title", "src/game/resource/audio/music/TitleMusic.mp3");
     }
     
-    private void registerSound(String name, String path) {
-        File soundFile = new File(path);
-        if (!soundFile.exists()) {
+    private void registerSound(String name, String path, SoundScheduler.SoundSpec spec) {
+        soundSpecs.put(name, spec);
+        AssetLoader assets = AssetLoader.getInstance();
+        if (!assets.exists(path)) {
             System.out.println("Sound file not found: " + path);
             return;
         }
-        soundPaths.put(name, path);
-
-        // Preload clip only for non-mp3 (e.g., wav) to use Java Sound directly
-        if (!path.toLowerCase().endsWith(".mp3")) {
-            try {
-                AudioInputStream audioInputStream = AudioSystem.getAudioInputStream(soundFile);
-                Clip clip = AudioSystem.getClip();
-                clip.open(audioInputStream);
-                soundClips.put(name, clip);
-            } catch (UnsupportedAudioFileException | IOException | LineUnavailableException e) {
-                System.err.println("Error loading sound: " + name + " - " + e.getMessage());
+        // Aliases share one decoded buffer
+        AudioMixer.PcmBuffer buffer;
+        if (decodedByPath.containsKey(path)) {
+            buffer = decodedByPath.get(path);
+        } else {
+            buffer = AudioMixer.decode(assets.getAudioBytes(path), path);
+            decodedByPath.put(path, buffer);
+        }
+        if (buffer != null) {
+            soundBuffers.put(name, buffer);
+        } else if (fallback != null) {
+            // Last resort for a format with no decoder: one platform player process per sound
+            if (!fallbackByPath.containsKey(path)) {
+                fallbackByPath.put(path, ExternalPlayer.resolve(path));
+            }
+            File file = fallbackByPath.get(path);
+            if (file != null) {
+                fallbackSounds.put(name, file);
             }
         }
     }
 
     private void registerMusic(String name, String path) {
-        File musicFile = new File(path);
-        if (!musicFile.exists()) {
+        if (!AssetLoader.getInstance().exists(path)) {
             System.out.println("Music file not found: " + path);
             return;
         }
-        musicPaths.put(name, path);
+        // Probe the decoder once here, so a track that cannot play is reported at startup
+        // instead of every time the menu asks for it
+        MusicStream probe = MusicStream.open(path, () -> AssetLoader.getInstance().openStream(path), false, 0.0f);
+        if (probe != null) {
+            probe.close();
+            musicPaths.put(name, path);
+        } else if (fallback != null) {
+            File file = ExternalPlayer.resolve(path);
+            if (file != null) {
+                fallbackMusic.put(name, file);
+            }
+        }
     }
     
     public void playSound(String name) {
-        if (!soundEnabled) return;
-        String path = soundPaths.get(name);
-        if (path == null) return;
-
-        if (path.toLowerCase().endsWith(".mp3")) {
-            playMp3Async(path, 0.3f);
-            return;
-        }
-
-        Clip clip = soundClips.get(name);
-        if (clip != null) {
-            if (clip.isRunning()) {
-                clip.stop();
-            }
-            clip.setFramePosition(0);
-            clip.start();
-        }
+        playSoundWithVolume(name, DEFAULT_VOLUME);
     }
     
     public void playSoundWithVolume(String name, float volume) {
         if (!soundEnabled) return;
-        String path = soundPaths.get(name);
-        if (path == null) return;
-
-        if (path.toLowerCase().endsWith(".mp3")) {
-            playMp3Async(path, Math.max(0.0f, Math.min(1.0f, volume)));
-            return;
-        }
-
-        Clip clip = soundClips.get(name);
-        if (clip != null) {
-            if (clip.isRunning()) {
-                clip.stop();
-            }
-            // Set volume for Java Sound clip
-            try {
-                FloatControl gainControl = (FloatControl) clip.getControl(FloatControl.Type.MASTER_GAIN);
-                float dB = (float) (Math.log(Math.max(0.0001f, volume)) / Math.log(10.0) * 20.0);
-                gainControl.setValue(dB);
-            } catch (IllegalArgumentException ignored) {}
-            clip.setFramePosition(0);
-            clip.start();
+        volume = Math.max(0.0f, Math.min(1.0f, volume));
+        AudioMixer.PcmBuffer buffer = soundBuffers.get(name);
+        if (buffer != null) {
+            // Duplicates within a frame are merged by the mixer's scheduler, so callers can fire freely
+            mixer.play(buffer, volume, soundSpecs.get(name));
+        } else if (fallbackSounds.containsKey(name)) {
+            fallback.play(fallbackSounds.get(name), volume, soundSpecs.get(name));
         }
     }
     
+    public SoundScheduler getScheduler() {
+        return mixer.getScheduler();
+    }
+    
     public void toggleSound() {
         setSoundEnabled(!soundEnabled);
     }
@@ -139,59 +137,47 @@ public class SoundManager {
     }
     
     public void stopAllSounds() {
-        for (Clip clip : soundClips.values()) {
-            if (clip.isRunning()) {
-                clip.stop();
-            }
+        mixer.stopAll();
+        if (fallback != null) {
+            fallback.stopAll();
         }
     }
 
-    // --- Music control (uses macOS afplay for mp3) ---
+    // --- Music control (streamed through the mixer, or the platform player as a fallback) ---
     public void playMusic(String key, boolean loop, float volume) {
         if (!soundEnabled) return;
         String path = musicPaths.get(key);
-        if (path == null) return;
+        if (path == null) {
+            File file = fallbackMusic.get(key);
+            if (file != null) {
+                stopMusic();
+                fallback.playMusic(file, loop, Math.max(0.0f, Math.min(1.0f, volume)));
+                currentMusicKey = key;
+            }
+            return;
+        }
 
         stopMusic();
+        music = MusicStream.open(path, () -> AssetLoader.getInstance().openStream(path), loop,
+                Math.max(0.0f, Math.min(1.0f, volume)));
+        if (music == null) return;
         currentMusicKey = key;
+        mixer.setMusic(music);
+    }
 
-        Thread t = new Thread(() -> {
-            do {
-                ProcessBuilder pb = new ProcessBuilder("afplay", "-v", String.valueOf(Math.max(0.0f, Math.min(1.0f, volume))), path);
-                pb.redirectErrorStream(true);
-                try {
-                    musicProcess = pb.start();
-                    // Wait for song to finish
-                    musicProcess.waitFor();
-                } catch (IOException | InterruptedException e) {
-                    System.err.println("Error playing music: " + e.getMessage());
-                    break;
-                }
-            } while (loop && soundEnabled);
-        }, "MusicPlayerThread");
-        t.setDaemon(true);
-        t.start();
+    public void setMusicVolume(float volume) {
+        // A track on the platform player keeps the volume it was started with
+        if (music != null) {
+            music.setGain(Math.max(0.0f, Math.min(1.0f, volume)));
+        }
     }
 
     public void stopMusic() {
-        if (musicProcess != null) {
-            musicProcess.destroy();
-            musicProcess = null;
+        if (fallback != null) {
+            fallback.stopMusic();
         }
+        mixer.setMusic(null);
+        music = null;
         currentMusicKey = null;
     }
-
-    private void playMp3Async(String path, float volume) {
-        // macOS-specific playback using afplay for simplicity and zero deps
-        new Thread(() -> {
-            try {
-                new ProcessBuilder("afplay", "-v", String.valueOf(Math.max(0.0f, Math.min(1.0f, volume))), path)
-                        .redirectErrorStream(true)
-                        .start();
-            } catch (IOException e) {
-                System.err.println("Error playing mp3: " + e.getMessage());
-            }
-        }, "SFXPlayerThread").start();
-    }
 }
-
@@ -0,0 +1,124 @@
+package game.component;
+
+/**
+ * Voice allocation policy for AudioMixer, run on the mixer thread for each play request,
+ * and for ExternalPlayer's process slots on its launcher thread.
+ * A request for a sound that started within its coalescing window merges into that voice
+ * as a louder one; otherwise the request takes a free voice, replacing the oldest
+ * instance when the sound is at its own limit, or stealing the lowest-priority voice when
+ * every voice is busy. Requests that outrank nothing are dropped, so the work per frame
+ * stays bounded by the voice count no matter how many sounds the game asks for.
+ */
+public class SoundScheduler {
+
+    /** Scheduling rules for one sound. Higher priority wins when voices run out. */
+    public static class SoundSpec {
+        public static final SoundSpec DEFAULT = new SoundSpec(0, Integer.MAX_VALUE, 0);
+
+        private final int priority;
+        private final int maxInstances;
+        private final long coalesceWindowNanos;
+
+        public SoundSpec(int priority, int maxInstances, long coalesceWindowMs) {
+            this.priority = priority;
+            this.maxInstances = Math.max(1, maxInstances);
+            this.coalesceWindowNanos = coalesceWindowMs * 1_000_000L;
+        }
+
+        public int getPriority() {
+            return priority;
+        }
+
+        public int getMaxInstances() {
+            return maxInstances;
+        }
+    }
+
+    /** What became of the last request passed to schedule(). */
+    public enum Outcome { STARTED, COALESCED, REPLACED, STOLEN, DROPPED }
+
+    private Outcome lastOutcome = Outcome.STARTED;
+    private long scheduled = 0;
+    private long coalesced = 0;
+    private long stolen = 0;
+    private long dropped = 0;
+
+    /** Returns the voice to (re)start for the request, or null if it was merged or dropped. */
+    AudioMixer.Voice schedule(AudioMixer.Voice[] voices, AudioMixer.Voice request) {
+        SoundSpec spec = request.spec;
+        AudioMixer.Voice newestSame = null;
+        AudioMixer.Voice oldestSame = null;
+        AudioMixer.Voice free = null;
+        AudioMixer.Voice victim = null;
+        int instances = 0;
+
+        for (AudioMixer.Voice voice : voices) {
+            if (voice.buffer == null) {
+                if (free == null) free = voice;
+                continue;
+            }
+            if (voice.spec == spec) {
+                instances++;
+                if (voice.buffer == request.buffer && (newestSame == null || voice.requestedAt > newestSame.requestedAt)) {
+                    newestSame = voice;
+                }
+                if (oldestSame == null || voice.requestedAt < oldestSame.requestedAt) {
+                    oldestSame = voice;
+                }
+            }
+            // Lowest priority first, then the one that has played longest
+            if (victim == null || voice.spec.priority < victim.spec.priority
+                    || (voice.spec.priority == victim.spec.priority && voice.requestedAt < victim.requestedAt)) {
+                victim = voice;
+            }
+        }
+
+        // Identical requests close together play as one louder voice (power sum, capped at full scale)
+        if (newestSame != null && request.requestedAt - newestSame.requestedAt <= spec.coalesceWindowNanos) {
+            newestSame.gain = Math.min(1.0f, (float) Math.sqrt(newestSame.gain * newestSame.gain + request.gain * request.gain));
+            coalesced++;
+            lastOutcome = Outcome.COALESCED;
+            return null;
+        }
+
+        scheduled++;
+        if (instances >= spec.maxInstances) {
+            stolen++;
+            lastOutcome = Outcome.REPLACED;
+            return oldestSame;
+        }
+        if (free != null) {
+            lastOutcome = Outcome.STARTED;
+            return free;
+        }
+        if (victim != null && victim.spec.priority <= spec.priority) {
+            stolen++;
+            lastOutcome = Outcome.STOLEN;
+            return victim;
+        }
+        scheduled--;
+        dropped++;
+        lastOutcome = Outcome.DROPPED;
+        return null;
+    }
+
+    public Outcome getLastOutcome() {
+        return lastOutcome;
+    }
+
+    public long getScheduledCount() {
+        return scheduled;
+    }
+
+    public long getCoalescedCount() {
+        return coalesced;
+    }
+
+    public long getStolenCount() {
+        return stolen;
+    }
+
+    public long getDroppedCount() {
+        return dropped;
+    }
+}
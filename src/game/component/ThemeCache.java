@@ -0,0 +1,133 @@
+package game.component;
+
+import game.component.BackgroundManager.BackgroundTheme;
+
+import java.awt.image.BufferedImage;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.function.Function;
+
+/**
+ * Memory-budgeted LRU cache of decoded background themes.
+ * Themes are decoded on first use or by a background prefetch; the least recently used
+ * themes are evicted once the decoded layers exceed the budget. The theme on screen is
+ * never evicted.
+ */
+public class ThemeCache {
+    private final long budgetBytes;
+    private final Function<BackgroundTheme, List<BufferedImage>> loader;
+    private final ExecutorService prefetcher;
+
+    // Access-ordered, so iteration starts at the least recently used theme
+    private final LinkedHashMap<BackgroundTheme, Future<List<BufferedImage>>> entries = new LinkedHashMap<>(8, 0.75f, true);
+    private final Map<BackgroundTheme, Long> entryBytes = new ConcurrentHashMap<>();
+    private BackgroundTheme pinned;
+    private long hits = 0;
+    private long misses = 0;
+
+    public ThemeCache(long budgetBytes, Function<BackgroundTheme, List<BufferedImage>> loader) {
+        this.budgetBytes = budgetBytes;
+        this.loader = loader;
+        this.prefetcher = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "ThemePrefetch");
+            t.setDaemon(true);
+            t.setPriority(Thread.MIN_PRIORITY);
+            return t;
+        });
+    }
+
+    /** Returns the decoded layers for a theme, decoding on the caller's thread on a miss. */
+    public List<BufferedImage> get(BackgroundTheme theme) {
+        Future<List<BufferedImage>> future;
+        FutureTask<List<BufferedImage>> task = null;
+        synchronized (this) {
+            pinned = theme;
+            future = entries.get(theme);
+            if (future != null) {
+                hits++;
+            } else {
+                misses++;
+                task = newTask(theme);
+                entries.put(theme, task);
+                future = task;
+            }
+        }
+        if (task != null) {
+            task.run();
+        }
+        return await(future);
+    }
+
+    /** Starts decoding a theme in the background if it is not cached yet. */
+    public synchronized void prefetch(BackgroundTheme theme) {
+        if (entries.containsKey(theme)) return;
+        FutureTask<List<BufferedImage>> task = newTask(theme);
+        entries.put(theme, task);
+        prefetcher.execute(task);
+    }
+
+    private FutureTask<List<BufferedImage>> newTask(BackgroundTheme theme) {
+        return new FutureTask<>(() -> {
+            List<BufferedImage> images = loader.apply(theme);
+            long bytes = 0;
+            for (BufferedImage image : images) {
+                bytes += (long) image.getWidth() * image.getHeight() * 4;
+            }
+            entryBytes.put(theme, bytes);
+            evictToBudget();
+            return images;
+        });
+    }
+
+    private synchronized void evictToBudget() {
+        Iterator<Map.Entry<BackgroundTheme, Future<List<BufferedImage>>>> it = entries.entrySet().iterator();
+        while (getResidentBytes() > budgetBytes && it.hasNext()) {
+            Map.Entry<BackgroundTheme, Future<List<BufferedImage>>> entry = it.next();
+            BackgroundTheme theme = entry.getKey();
+            // Keep the theme on screen and anything still decoding
+            if (theme == pinned || !entry.getValue().isDone()) continue;
+            it.remove();
+            entryBytes.remove(theme);
+        }
+    }
+
+    private List<BufferedImage> await(Future<List<BufferedImage>> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            System.err.println("Error decoding background theme: " + e.getCause().getMessage());
+        }
+        return Collections.emptyList();
+    }
+
+    public long getResidentBytes() {
+        long total = 0;
+        for (long bytes : entryBytes.values()) {
+            total += bytes;
+        }
+        return total;
+    }
+
+    public synchronized float getHitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0.0f : hits / (float) lookups;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public long getBudgetBytes() {
+        return budgetBytes;
+    }
+}
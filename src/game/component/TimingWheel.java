@@ -0,0 +1,155 @@
+package game.component;
+
+/**
+ * Hierarchical timing wheel for game timers, in GameClock milliseconds.
+ * Timers register a callback and a delay; schedule and cancel are O(1) list operations,
+ * and advance() only touches the slots that come due, so the per-tick cost does not grow
+ * with the number of pending timers. Four levels of 64 slots cover about 4.6 hours at
+ * 1 ms resolution; longer delays park in the top level and are re-placed as it turns.
+ * Owned by the game thread: schedule, cancel and advance must all be called from it.
+ */
+public class TimingWheel {
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+    private static final long RANGE = 1L << (SLOT_BITS * LEVELS);
+
+    /** Handle for a scheduled callback. */
+    public static class Timeout {
+        private final Runnable task;
+        private final long deadline;
+        private TimingWheel wheel; // null once fired or cancelled
+        private int level;
+        private int slot;
+        private Timeout prev;
+        private Timeout next;
+
+        private Timeout(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /** Stops the callback from running; does nothing if it already ran or was cancelled. */
+        public void cancel() {
+            TimingWheel owner = wheel;
+            if (owner != null) {
+                owner.unlink(this);
+                owner.size--;
+            }
+        }
+
+        public boolean isPending() {
+            return wheel != null;
+        }
+    }
+
+    private final Timeout[][] slots = new Timeout[LEVELS][SLOTS];
+    private long currentTick;
+    private int size = 0;
+
+    public TimingWheel(long startMillis) {
+        this.currentTick = startMillis;
+    }
+
+    /** Runs task on the game thread once delayMs of game time has passed. */
+    public Timeout schedule(long delayMs, Runnable task) {
+        // Due timers fire on the next tick at the earliest, never inside the current advance
+        Timeout timeout = new Timeout(task, currentTick + Math.max(1, delayMs));
+        place(timeout);
+        size++;
+        return timeout;
+    }
+
+    /** Fires every timer due at or before nowMillis, in deadline order. */
+    public void advance(long nowMillis) {
+        if (size == 0) {
+            currentTick = Math.max(currentTick, nowMillis);
+            return;
+        }
+        while (currentTick < nowMillis) {
+            currentTick++;
+            // Higher levels first, so a timer cascading down can land in the slot cascaded next
+            for (int level = LEVELS - 1; level >= 1; level--) {
+                if ((currentTick & ((1L << (SLOT_BITS * level)) - 1)) == 0) {
+                    cascade(level, (int) (currentTick >>> (SLOT_BITS * level)) & SLOT_MASK);
+                }
+            }
+            int index = (int) currentTick & SLOT_MASK;
+            Timeout due;
+            while ((due = slots[0][index]) != null) {
+                unlink(due);
+                size--;
+                due.task.run(); // may schedule or cancel others; new timers never land in this slot
+            }
+            if (size == 0) {
+                currentTick = nowMillis;
+            }
+        }
+    }
+
+    /** Number of timers still waiting to fire. */
+    public int size() {
+        return size;
+    }
+
+    /** Cancels every pending timer. */
+    public void clear() {
+        for (int level = 0; level < LEVELS; level++) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                Timeout timeout;
+                while ((timeout = slots[level][slot]) != null) {
+                    unlink(timeout);
+                }
+            }
+        }
+        size = 0;
+    }
+
+    // The lowest level whose slot span still shares all higher bits with the current tick
+    private void place(Timeout timeout) {
+        long deadline = timeout.deadline;
+        int level = 0;
+        while (level < LEVELS - 1 && (deadline >>> (SLOT_BITS * (level + 1))) != (currentTick >>> (SLOT_BITS * (level + 1)))) {
+            level++;
+        }
+        long position = deadline - currentTick >= RANGE
+            ? (currentTick >>> (SLOT_BITS * level)) + SLOT_MASK // out of range: the last top-level slot to come round
+            : deadline >>> (SLOT_BITS * level);
+        link(timeout, level, (int) position & SLOT_MASK);
+    }
+
+    private void cascade(int level, int slot) {
+        Timeout timeout;
+        while ((timeout = slots[level][slot]) != null) {
+            unlink(timeout);
+            place(timeout);
+        }
+    }
+
+    private void link(Timeout timeout, int level, int slot) {
+        timeout.wheel = this;
+        timeout.level = level;
+        timeout.slot = slot;
+        timeout.prev = null;
+        timeout.next = slots[level][slot];
+        if (timeout.next != null) {
+            timeout.next.prev = timeout;
+        }
+        slots[level][slot] = timeout;
+    }
+
+    private void unlink(Timeout timeout) {
+        if (timeout.prev != null) {
+            timeout.prev.next = timeout.next;
+        } else {
+            slots[timeout.level][timeout.slot] = timeout.next;
+        }
+        if (timeout.next != null) {
+            timeout.next.prev = timeout.prev;
+        }
+        timeout.prev = null;
+        timeout.next = null;
+        timeout.wheel = null;
+    }
+}
@@ -0,0 +1,72 @@
+package game.component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Lock-free triple buffer between one producer and one consumer thread.
+ * The producer always has a back slot to fill and never waits; the consumer always
+ * picks up the most recently published slot, skipping any it was too slow to show.
+ */
+public class TripleBuffer<T> {
+    private static final int INDEX_MASK = 3;
+    private static final int FRESH = 4;
+
+    private final T[] slots;
+    private final AtomicInteger middle;
+    private int back;  // owned by the producer
+    private int front; // owned by the consumer
+    private volatile Thread waitingConsumer;
+
+    public TripleBuffer(T first, T second, T third) {
+        @SuppressWarnings("unchecked")
+        T[] slots = (T[]) new Object[] {first, second, third};
+        this.slots = slots;
+        this.back = 0;
+        this.middle = new AtomicInteger(1);
+        this.front = 2;
+    }
+
+    // --- Producer side ---
+    public T getBack() {
+        return slots[back];
+    }
+
+    public void publish() {
+        back = middle.getAndSet(back | FRESH) & INDEX_MASK;
+        Thread consumer = waitingConsumer;
+        if (consumer != null) {
+            LockSupport.unpark(consumer);
+        }
+    }
+
+    // --- Consumer side ---
+    public T getFront() {
+        return slots[front];
+    }
+
+    public boolean takeFresh() {
+        if ((middle.get() & FRESH) == 0) {
+            return false;
+        }
+        front = middle.getAndSet(front) & INDEX_MASK;
+        return true;
+    }
+
+    public boolean awaitFresh(long timeoutNanos) {
+        long deadline = System.nanoTime() + timeoutNanos;
+        waitingConsumer = Thread.currentThread();
+        try {
+            while (!takeFresh()) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                LockSupport.parkNanos(this, remaining);
+            }
+            return true;
+        } finally {
+            waitingConsumer = null;
+        }
+    }
+}
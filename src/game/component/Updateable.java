@@ -19,31 +19,21 @@ public abstract class Updateable {
     protected void startUpdate() {
         new Thread(() -> {
             long frameStartTime = System.nanoTime();
-            long frameRenderTime = 0;
             float deltaTime = 0;
+            // Entities run one thread each, so they park rather than spin
+            FramePacer pacer = new FramePacer(this.targetFrameTime, FramePacer.Mode.EFFICIENT);
             while (this.start) {
-                deltaTime = (System.nanoTime() - frameStartTime) / 10000000f;
+                // Simulation time, so entities stop while paused and follow the time scale
+                deltaTime = GameClock.getInstance().scaleDelta((System.nanoTime() - frameStartTime) / 10000000f);
                 frameStartTime = System.nanoTime();
 
                 this.onUpdate(deltaTime);
 
-                frameRenderTime = System.nanoTime() - frameStartTime;
-                if (frameRenderTime < this.targetFrameTime) {
-                    sleep((this.targetFrameTime - frameRenderTime) / 1000000);
-                }
-
+                pacer.awaitNextFrame();
             }
         }).start();
     }
 
-    private void sleep(long t) {
-        try {
-            Thread.sleep(t);
-        } catch (InterruptedException e) {
-            System.err.println("Thread interrupted: " + e.getMessage());
-        }
-    }
-
     protected void onUpdate(float deltaTime) {
 
     }
@@ -0,0 +1,69 @@
+package game.component;
+
+import game.object.projectiles.Projectile;
+import game.object.projectiles.TripleShot;
+
+/**
+ * Rejects draws whose bounds do not touch the visible area and counts drawn/culled
+ * entities per frame. Bounds are tested in window coordinates.
+ */
+public class ViewCuller {
+    private float left;
+    private float top;
+    private float right;
+    private float bottom;
+
+    private int drawnCount;
+    private int culledCount;
+    private int lastDrawnCount;
+    private int lastCulledCount;
+
+    public void beginFrame(float width, float height, float margin) {
+        lastDrawnCount = drawnCount;
+        lastCulledCount = culledCount;
+        drawnCount = 0;
+        culledCount = 0;
+        left = -margin;
+        top = -margin;
+        right = width + margin;
+        bottom = height + margin;
+    }
+
+    public boolean isVisible(float x, float y, float width, float height) {
+        boolean visible = x + width >= left && x <= right && y + height >= top && y <= bottom;
+        if (visible) {
+            drawnCount++;
+        } else {
+            culledCount++;
+        }
+        return visible;
+    }
+
+    public boolean isVisible(Projectile projectile) {
+        // Triple shots are visible while any of their sub-projectiles is
+        if (projectile instanceof TripleShot) {
+            float minX = Float.MAX_VALUE, minY = Float.MAX_VALUE;
+            float maxX = -Float.MAX_VALUE, maxY = -Float.MAX_VALUE;
+            for (Projectile sub : ((TripleShot) projectile).getSubProjectiles()) {
+                Vector2 p = sub.getPosition();
+                minX = Math.min(minX, p.x);
+                minY = Math.min(minY, p.y);
+                maxX = Math.max(maxX, p.x + sub.getSize());
+                maxY = Math.max(maxY, p.y + sub.getSize());
+            }
+            return isVisible(minX, minY, maxX - minX, maxY - minY);
+        }
+        Vector2 p = projectile.getPosition();
+        return isVisible(p.x, p.y, projectile.getSize(), projectile.getSize());
+    }
+
+    /** Entities drawn in the last completed frame. */
+    public int getDrawnCount() {
+        return lastDrawnCount;
+    }
+
+    /** Entities skipped as off-screen in the last completed frame. */
+    public int getCulledCount() {
+        return lastCulledCount;
+    }
+}
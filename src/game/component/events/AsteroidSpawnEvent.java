@@ -0,0 +1,29 @@
+package game.component.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** Asteroids added to the field by a timed spawn, a level start or a split. */
+@Name("asteroids.AsteroidSpawn")
+@Label("Asteroid Spawn")
+@Category({"Asteroids", "Simulation"})
+@Description("Asteroids created by a spawn, a level start or a split")
+@StackTrace(false)
+public class AsteroidSpawnEvent extends jdk.jfr.Event {
+    @Label("Reason")
+    @Description("spawn, initial or split")
+    public String reason;
+
+    @Label("Size")
+    @Description("Size in pixels of the new asteroids")
+    public int size;
+
+    @Label("Count")
+    public int count;
+
+    @Label("Asteroids Alive")
+    public int totalAsteroids;
+}
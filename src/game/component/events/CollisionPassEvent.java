@@ -0,0 +1,27 @@
+package game.component.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/** One collision pass over the asteroid list; recorded only when the pass is slow. */
+@Name("asteroids.CollisionPass")
+@Label("Collision Pass")
+@Category({"Asteroids", "Simulation"})
+@Description("A slow collision pass with the number of pairs tested and hits found")
+@Threshold("2 ms")
+@StackTrace(false)
+public class CollisionPassEvent extends jdk.jfr.Event {
+    @Label("Kind")
+    @Description("projectile-asteroid or player-asteroid")
+    public String kind;
+
+    @Label("Pairs Tested")
+    public int pairsTested;
+
+    @Label("Hits")
+    public int hits;
+}
@@ -0,0 +1,65 @@
+package game.component.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+import jdk.jfr.Timespan;
+
+/**
+ * One game-thread frame: update, draw and publish, with the profiler's phase times and
+ * entity counts. Only frames over the threshold are recorded, so a healthy 60 FPS run
+ * writes almost nothing.
+ */
+@Name("asteroids.Frame")
+@Label("Frame")
+@Category({"Asteroids", "Frame"})
+@Description("A slow game-thread frame with its phase durations and entity counts")
+@Threshold("20 ms")
+@StackTrace(false)
+public class FrameEvent extends jdk.jfr.Event {
+    @Label("Sequence")
+    public long sequence;
+
+    @Label("Asteroids Update")
+    @Timespan(Timespan.NANOSECONDS)
+    public long asteroidsTime;
+
+    @Label("Particles Update")
+    @Timespan(Timespan.NANOSECONDS)
+    public long particlesTime;
+
+    @Label("Power-ups Update")
+    @Timespan(Timespan.NANOSECONDS)
+    public long powerUpsTime;
+
+    @Label("Collision")
+    @Timespan(Timespan.NANOSECONDS)
+    public long collisionTime;
+
+    @Label("Background Draw")
+    @Timespan(Timespan.NANOSECONDS)
+    public long backgroundTime;
+
+    @Label("Game Draw")
+    @Timespan(Timespan.NANOSECONDS)
+    public long gameDrawTime;
+
+    @Label("UI Draw")
+    @Timespan(Timespan.NANOSECONDS)
+    public long uiTime;
+
+    @Label("Asteroids")
+    public int asteroidCount;
+
+    @Label("Projectiles")
+    public int projectileCount;
+
+    @Label("Particles")
+    public int particleCount;
+
+    @Label("Power-ups")
+    public int powerUpCount;
+}
@@ -0,0 +1,31 @@
+package game.component.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * A sound request, from the play call to the mixer's scheduling decision.
+ * The duration is the time the request waited for the mixer thread; requests normally wait
+ * less than one mixer block, so only late ones pass the threshold.
+ */
+@Name("asteroids.SoundDispatch")
+@Label("Sound Dispatch")
+@Category({"Asteroids", "Audio"})
+@Description("A sound request that waited longer than a mixer block before being scheduled")
+@Threshold("20 ms")
+@StackTrace(false)
+public class SoundDispatchEvent extends jdk.jfr.Event {
+    @Label("Sound")
+    public String sound;
+
+    @Label("Outcome")
+    @Description("started, coalesced, replaced, stolen or dropped")
+    public String outcome;
+
+    @Label("Priority")
+    public int priority;
+}
@@ -0,0 +1,27 @@
+package game.component.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** A background theme switch, including any decode done on the calling thread. */
+@Name("asteroids.ThemeLoad")
+@Label("Theme Load")
+@Category({"Asteroids", "Assets"})
+@Description("Switching the background theme; a cache miss includes the image decode")
+public class ThemeLoadEvent extends jdk.jfr.Event {
+    @Label("Theme")
+    public String theme;
+
+    @Label("Decoded Size")
+    @DataAmount
+    public long bytes;
+
+    @Label("Layers")
+    public int layers;
+
+    @Label("Cache Hit")
+    public boolean cacheHit;
+}
@@ -0,0 +1,102 @@
+package game.main;
+
+import game.component.AssetArchive;
+import game.component.AssetLoader;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Build-time tool that packs the manifest and every asset it lists into a single archive.
+ * Unlisted files (most of the power-up sprite sheet, unused backgrounds) are left out.
+ *
+ * Usage: java game.main.AssetPacker [output file] (default: assets.pak)
+ * Run from the project root, where the manifest's relative paths resolve.
+ */
+public class AssetPacker {
+
+    public static void main(String[] args) throws IOException {
+        File output = new File(args.length > 0 ? args[0] : AssetArchive.DEFAULT_FILE_NAME);
+
+        // The manifest itself goes in first so the game can start without the source tree
+        Set<String> paths = new LinkedHashSet<>();
+        paths.add(AssetLoader.MANIFEST_PATH);
+        for (String line : Files.readAllLines(new File(AssetLoader.MANIFEST_PATH).toPath(), StandardCharsets.UTF_8)) {
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) continue;
+            int split = line.indexOf(' ');
+            if (split < 0) continue;
+            String path = line.substring(split + 1).trim();
+            if (new File(path).isFile()) {
+                paths.add(path);
+            } else {
+                System.err.println("Skipping missing asset: " + path);
+            }
+        }
+
+        List<byte[]> names = new ArrayList<>();
+        List<Long> lengths = new ArrayList<>();
+        int headerSize = 16;
+        for (String path : paths) {
+            byte[] name = path.getBytes(StandardCharsets.UTF_8);
+            names.add(name);
+            lengths.add(new File(path).length());
+            headerSize += 2 + name.length + 12;
+        }
+
+        // Blob offsets are known up front, so the file is written in a single pass
+        long[] offsets = new long[names.size()];
+        long position = align(headerSize);
+        for (int i = 0; i < offsets.length; i++) {
+            offsets[i] = position;
+            position = align(position + lengths.get(i));
+        }
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(output)))) {
+            out.writeInt(AssetArchive.MAGIC);
+            out.writeInt(AssetArchive.VERSION);
+            out.writeInt(names.size());
+            out.writeInt((int) align(headerSize));
+            for (int i = 0; i < names.size(); i++) {
+                out.writeShort(names.get(i).length);
+                out.write(names.get(i));
+                out.writeLong(offsets[i]);
+                out.writeInt((int) (long) lengths.get(i));
+            }
+
+            long written = headerSize;
+            int i = 0;
+            for (String path : paths) {
+                written = pad(out, written, offsets[i]);
+                byte[] data = Files.readAllBytes(new File(path).toPath());
+                out.write(data);
+                written += data.length;
+                i++;
+            }
+        }
+
+        System.out.println("Packed " + names.size() + " assets into " + output + " (" + position / 1024 + " KB)");
+    }
+
+    private static long align(long position) {
+        int alignment = AssetArchive.BLOB_ALIGNMENT;
+        return (position + alignment - 1) / alignment * alignment;
+    }
+
+    private static long pad(DataOutputStream out, long written, long target) throws IOException {
+        while (written < target) {
+            out.write(0);
+            written++;
+        }
+        return written;
+    }
+}
@@ -1,5 +1,6 @@
 package game.main;
 
+import game.component.AssetLoader;
 import game.component.GameCore;
 
 import javax.swing.*;
@@ -32,6 +33,8 @@ public class Main extends JFrame {
     }
 
     public static void main(String[] args) {
+        // Start decoding assets while the window is being created
+        AssetLoader.getInstance().start();
         Main main = new Main();
         main.setVisible(true);
 
@@ -1,19 +1,25 @@
 package game.object;
 
+import game.component.AssetLoader;
 import game.component.GameCore;
+import game.component.RenderCommands;
 import game.component.Updateable;
 import game.component.Vector2;
 
-import javax.swing.*;
 import java.awt.*;
 import java.awt.geom.AffineTransform;
 import java.awt.geom.Area;
 import java.awt.geom.Ellipse2D;
 import java.awt.geom.Path2D;
 import java.awt.image.BufferedImage;
+import java.util.HashMap;
+import java.util.Map;
 
 public class Asteroid extends Updateable {
 
+    // One generated image per size, so render commands see a fixed set of sprites
+    private static final Map<Integer, BufferedImage> FALLBACK_IMAGES = new HashMap<>();
+
     private Vector2 position;
     private Vector2 velocity;
     private Vector2 frameVelocity;
@@ -36,22 +42,18 @@ public class Asteroid extends Updateable {
         this.angle = 0;
         
         // Load asteroid image with error handling
-        String imagePath = "src/game/resource/img/asteroids/asteroid_" + size + ".png";
-        ImageIcon icon = new ImageIcon(imagePath);
-        if (icon.getIconWidth() <= 0) {
+        AssetLoader assets = AssetLoader.getInstance();
+        Image loaded = assets.getImage("src/game/resource/img/asteroids/asteroid_" + size + ".png");
+        if (loaded == null) {
             // Fallback to a different size if the specific size isn't available
-            icon = new ImageIcon("src/game/resource/img/asteroids/asteroid_64.png");
+            loaded = assets.getImage("src/game/resource/img/asteroids/asteroid_64.png");
             
             // If still no image, create a simple asteroid shape
-            if (icon.getIconWidth() <= 0) {
-                BufferedImage fallbackImage = createFallbackAsteroidImage(size);
-                this.image = fallbackImage;
-            } else {
-                this.image = icon.getImage();
+            if (loaded == null) {
+                loaded = FALLBACK_IMAGES.computeIfAbsent(size, Asteroid::createFallbackAsteroidImage);
             }
-        } else {
-            this.image = icon.getImage();
         }
+        this.image = loaded;
         
         this.shape = createShape();
         this.wallBounceFactor = 1.1f;
@@ -61,7 +63,7 @@ public class Asteroid extends Updateable {
         startUpdate();
     }
     
-    private BufferedImage createFallbackAsteroidImage(int size) {
+    private static BufferedImage createFallbackAsteroidImage(int size) {
         // Create a simple asteroid shape as fallback
         BufferedImage img = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
         Graphics2D g2 = img.createGraphics();
@@ -123,16 +125,11 @@ public class Asteroid extends Updateable {
         angle += (rotationSpeed * deltaTime);
     }
 
-    public void draw(Graphics2D g2) {
+    public void submit(RenderCommands commands) {
         if (destroyed) return;
         
-        AffineTransform oldTransform = g2.getTransform();
-        g2.translate(position.x, position.y);
-        AffineTransform t = new AffineTransform();
-        t.rotate(Math.toRadians(angle), (double) SIZE / 2, (double) SIZE / 2);
-        g2.drawImage(image, 0, 0, SIZE, SIZE, null);
-
-        g2.setTransform(oldTransform);
+        // Drawn unrotated, as before; the rotation angle only affects the collision shape
+        commands.add(RenderCommands.LAYER_ASTEROIDS, commands.spriteId(image), position.x, position.y, SIZE, SIZE, 0, 1.0f);
     }
 
     public Vector2 getCenter() {
@@ -3,7 +3,6 @@ package game.object;
 import game.component.*;
 import game.object.projectiles.*;
 
-import javax.swing.*;
 import java.awt.*;
 import java.awt.geom.AffineTransform;
 import java.awt.geom.Rectangle2D;
@@ -18,26 +17,28 @@ public class Player extends Updateable {
     private final Image playerImage;
     private float wallBounceFactor;
     PlayerInput playerInput;
-    JFrame window;
     
     // Health system
     private int maxHealth = 100;
     private int health = maxHealth;
-    private boolean invulnerable = false;
-    private long invulnerabilityTime = 0;
+    private volatile boolean invulnerable = false;
+    private TimingWheel.Timeout invulnerabilityTimeout;
     private final long INVULNERABILITY_DURATION = 1500; // 1.5 seconds of invulnerability after being hit
     
     // Power-up system
-    private boolean shieldActive = false;
-    private long shieldEndTime = 0;
+    // Flags are cleared by timers on the game thread and read by this player's update thread
+    private TimingWheel timers;
+    
+    private volatile boolean shieldActive = false;
+    private TimingWheel.Timeout shieldTimeout;
     private final long SHIELD_DURATION = 10000; // 10 seconds
     
-    private boolean rapidFireActive = false;
-    private long rapidFireEndTime = 0;
+    private volatile boolean rapidFireActive = false;
+    private TimingWheel.Timeout rapidFireTimeout;
     private final long RAPID_FIRE_DURATION = 8000; // 8 seconds
     
-    private boolean tripleShotActive = false;
-    private long tripleShotEndTime = 0;
+    private volatile boolean tripleShotActive = false;
+    private TimingWheel.Timeout tripleShotTimeout;
     private final long TRIPLE_SHOT_DURATION = 12000; // 12 seconds
     
     // Visual effects for power-ups
@@ -45,10 +46,9 @@ public class Player extends Updateable {
 
 
 
-    public Player(JFrame window) {
+    public Player() {
         super();
-        this.window = window;
-        this.playerImage = new ImageIcon("src/game/resource/img/spaceship_brown_default_turned.png").getImage();
+        this.playerImage = AssetLoader.getInstance().getImage("src/game/resource/img/spaceship_brown_default_turned.png");
         this.playerInput = new PlayerInput();
         this.wallBounceFactor = 0.6f;
         super.startUpdate();
@@ -57,36 +57,25 @@ public class Player extends Updateable {
 
     @Override
     public void onUpdate(float deltaTime) {
+        playerInput.beginTick();
         this.getInput(deltaTime);
         this.updatePos(deltaTime);
         this.turnToCursor();
-        
-        // Update invulnerability
-        if (invulnerable && System.currentTimeMillis() - invulnerabilityTime > INVULNERABILITY_DURATION) {
-            invulnerable = false;
-        }
-        
-        // Update power-up timers
-        updatePowerUpTimers();
     }
     
-    private void updatePowerUpTimers() {
-        long currentTime = System.currentTimeMillis();
-        
-        // Check shield timer
-        if (shieldActive && currentTime > shieldEndTime) {
-            shieldActive = false;
-        }
-        
-        // Check rapid fire timer
-        if (rapidFireActive && currentTime > rapidFireEndTime) {
-            rapidFireActive = false;
-        }
-        
-        // Check triple shot timer
-        if (tripleShotActive && currentTime > tripleShotEndTime) {
-            tripleShotActive = false;
-        }
+    /** Timers that end invulnerability and power-ups; they fire on the game thread. */
+    public void setTimers(TimingWheel timers) {
+        this.timers = timers;
+    }
+    
+    // Replaces a running timer, so picking up a power-up again restarts its full duration
+    private TimingWheel.Timeout restartTimer(TimingWheel.Timeout timeout, long delayMs, Runnable onExpire) {
+        if (timeout != null) timeout.cancel();
+        return timers.schedule(delayMs, onExpire);
+    }
+    
+    private void cancelTimer(TimingWheel.Timeout timeout) {
+        if (timeout != null) timeout.cancel();
     }
 
 
@@ -110,6 +99,10 @@ public class Player extends Updateable {
         playerInput.keyPressUpdate(eventType, keyCode);
     }
 
+    public void setInputToMap(InputEventTypes eventType, int keyCode, long inputTimestamp) {
+        playerInput.keyPressUpdate(eventType, keyCode, inputTimestamp);
+    }
+
     private void sleep(long t) {
         try {
             Thread.sleep(t);
@@ -123,7 +116,7 @@ public class Player extends Updateable {
         g2.translate(position.x, position.y);
         
         // Flash the player if invulnerable
-        if (invulnerable && System.currentTimeMillis() % 300 < 150) {
+        if (invulnerable && GameClock.getInstance().currentTimeMillis() % 300 < 150) {
             // Skip drawing to create flashing effect
             g2.setTransform(oldTransform);
             return;
@@ -196,7 +189,15 @@ public class Player extends Updateable {
     }
 
     public void turnToCursor() {
-        setAngle(calcAngleFromPoints(getCenter(), playerInput.getMousePositionInGame(window)));
+        // Keep the current heading until the pointer has been over the game
+        if (playerInput.hasPointer()) {
+            setAngle(calcAngleFromPoints(getCenter(), playerInput.getPointer()));
+        }
+    }
+    
+    /** Pointer position in game coordinates, published from the mouse listener thread. */
+    public void setPointerPosition(float x, float y) {
+        playerInput.setPointer(x, y);
     }
 
     public float calcAngleFromPoints(Vector2 player, Vector2 target) {
@@ -220,11 +221,19 @@ public class Player extends Updateable {
     }
 
     public Projectile shoot(int weapon) {
+        return shoot(weapon, 0);
+    }
+    
+    /** Fires a projectile that carries the arrival time of the input that caused it. */
+    public Projectile shoot(int weapon, long inputTimestamp) {
+        Projectile projectile;
         if (tripleShotActive) {
-            return new TripleShot(getCenter(), velocity, this.playerViewAngle, rapidFireActive ? 15f : 10f);
+            projectile = new TripleShot(getCenter(), velocity, this.playerViewAngle, rapidFireActive ? 15f : 10f);
         } else {
-            return new EnergyBall(getCenter(), velocity, this.playerViewAngle, rapidFireActive ? 15f : 10f);
+            projectile = new EnergyBall(getCenter(), velocity, this.playerViewAngle, rapidFireActive ? 15f : 10f);
         }
+        projectile.setInputTimestamp(inputTimestamp);
+        return projectile;
     }
     
     public Rectangle2D getCollisionBounds() {
@@ -266,7 +275,7 @@ public class Player extends Updateable {
         
         // Make player invulnerable for a short time after being hit
         invulnerable = true;
-        invulnerabilityTime = System.currentTimeMillis();
+        invulnerabilityTimeout = restartTimer(invulnerabilityTimeout, INVULNERABILITY_DURATION, () -> invulnerable = false);
     }
     
     public boolean isAlive() {
@@ -281,8 +290,12 @@ public class Player extends Updateable {
     public void reset() {
         health = maxHealth;
         invulnerable = false;
+        cancelTimer(invulnerabilityTimeout);
         
         // Reset all power-ups
+        cancelTimer(shieldTimeout);
+        cancelTimer(rapidFireTimeout);
+        cancelTimer(tripleShotTimeout);
         shieldActive = false;
         rapidFireActive = false;
         tripleShotActive = false;
@@ -293,8 +306,6 @@ public class Player extends Updateable {
     }
     
     public void activatePowerUp(PowerUp.PowerUpType type) {
-        long currentTime = System.currentTimeMillis();
-        
         switch (type) {
             case HEALTH:
                 heal(25); // Heal 25 health points
@@ -302,17 +313,17 @@ public class Player extends Updateable {
                 
             case SHIELD:
                 shieldActive = true;
-                shieldEndTime = currentTime + SHIELD_DURATION;
+                shieldTimeout = restartTimer(shieldTimeout, SHIELD_DURATION, () -> shieldActive = false);
                 break;
                 
             case RAPID_FIRE:
                 rapidFireActive = true;
-                rapidFireEndTime = currentTime + RAPID_FIRE_DURATION;
+                rapidFireTimeout = restartTimer(rapidFireTimeout, RAPID_FIRE_DURATION, () -> rapidFireActive = false);
                 break;
                 
             case TRIPLE_SHOT:
                 tripleShotActive = true;
-                tripleShotEndTime = currentTime + TRIPLE_SHOT_DURATION;
+                tripleShotTimeout = restartTimer(tripleShotTimeout, TRIPLE_SHOT_DURATION, () -> tripleShotActive = false);
                 break;
         }
     }
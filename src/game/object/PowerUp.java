@@ -1,14 +1,20 @@
 package game.object;
 
+import game.component.AssetLoader;
+import game.component.GameClock;
 import game.component.GameCore;
+import game.component.RenderCommands;
+import game.component.TimingWheel;
 import game.component.Updateable;
 import game.component.Vector2;
 
-import javax.swing.*;
 import java.awt.*;
 import java.awt.geom.AffineTransform;
 import java.awt.geom.Area;
 import java.awt.geom.Ellipse2D;
+import java.awt.image.BufferedImage;
+import java.util.EnumMap;
+import java.util.Map;
 import java.util.Random;
 
 public class PowerUp extends Updateable {
@@ -20,12 +26,18 @@ public class PowerUp extends Updateable {
         TRIPLE_SHOT
     }
     
+    // Glow sprites are rendered once per type and reused by every power-up
+    private static final Map<PowerUpType, BufferedImage> GLOW_SPRITES = new EnumMap<>(PowerUpType.class);
+    private static final int GLOW_MARGIN = 5;
+    
     private Vector2 position;
     private Vector2 velocity;
     private final int SIZE = 32; // Increased size for better visibility
     private final PowerUpType type;
     private final Color color; // Keep color for particle effects
     private boolean collected = false;
+    private boolean expired = false;
+    private TimingWheel.Timeout expiry;
     private long creationTime;
     private final long LIFETIME = 10000; // 10 seconds lifetime
     private float angle = 0;
@@ -66,7 +78,7 @@ public class PowerUp extends Updateable {
         );
         
         this.rotationSpeed = (random.nextFloat() - 0.5f) * 2;
-        this.creationTime = System.currentTimeMillis();
+        this.creationTime = GameClock.getInstance().currentTimeMillis();
         
         startUpdate();
     }
@@ -92,7 +104,7 @@ public class PowerUp extends Updateable {
                 imagePath = "src/game/resource/img/powerups/Box_Item_0.png"; // Default box
         }
         
-        this.image = new ImageIcon(imagePath).getImage();
+        this.image = AssetLoader.getInstance().getImage(imagePath);
     }
     
     @Override
@@ -107,11 +119,11 @@ public class PowerUp extends Updateable {
         checkOutOfBounds();
     }
     
-    public void draw(Graphics2D g2) {
+    public void submit(RenderCommands commands, boolean withGlow) {
         if (collected) return;
         
         // Calculate alpha based on lifetime (fade out near end of life)
-        long currentTime = System.currentTimeMillis();
+        long currentTime = GameClock.getInstance().currentTimeMillis();
         long elapsedTime = currentTime - creationTime;
         float alpha = 1.0f;
         
@@ -125,60 +137,38 @@ public class PowerUp extends Updateable {
         float pulseFactor = (float) (1.0 + 0.1 * Math.sin(elapsedTime / 200.0));
         int pulseSize = (int) (SIZE * pulseFactor);
         
-        // Save original transform
-        AffineTransform oldTransform = g2.getTransform();
-        
-        // Apply transform for rotation
-        g2.translate(position.x, position.y);
-        g2.rotate(Math.toRadians(angle), SIZE / 2, SIZE / 2);
+        // Rotating, pulsing power-up image
+        commands.add(RenderCommands.LAYER_POWERUPS, commands.spriteId(image),
+                position.x, position.y, pulseSize, pulseSize, angle, alpha);
         
-        // Set alpha composite for fading effect
-        Composite oldComposite = g2.getComposite();
-        if (alpha < 1.0f) {
-            g2.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, alpha));
+        // Subtle glow around the power-up; the fade scales both the gradient and the composite
+        if (withGlow) {
+            int glowSize = SIZE + GLOW_MARGIN * 2;
+            commands.add(RenderCommands.LAYER_POWERUP_GLOW, commands.spriteId(getGlowSprite(type, color, glowSize)),
+                    (int) position.x - GLOW_MARGIN, (int) position.y - GLOW_MARGIN, glowSize, glowSize, 0, alpha * alpha);
         }
-        
-        // Draw the power-up image
-        g2.drawImage(image, 0, 0, pulseSize, pulseSize, null);
-        
-        // Restore original composite
-        g2.setComposite(oldComposite);
-        
-        // Restore original transform
-        g2.setTransform(oldTransform);
-        
-        // Draw a subtle glow effect around the power-up
-        drawGlowEffect(g2, alpha);
     }
     
-    private void drawGlowEffect(Graphics2D g2, float alpha) {
-        // Create a soft glow around the power-up
-        int glowSize = SIZE + 10;
-        int glowX = (int)position.x - 5;
-        int glowY = (int)position.y - 5;
-        
-        // Ensure alpha is in valid range [0.0, 1.0]
-        alpha = Math.max(0.0f, Math.min(1.0f, alpha));
-        
-        // Set a radial gradient paint for the glow
-        RadialGradientPaint paint = new RadialGradientPaint(
-            position.x + SIZE/2, position.y + SIZE/2, glowSize/2,
-            new float[] {0.0f, 1.0f},
-            new Color[] {
-                new Color(color.getRed(), color.getGreen(), color.getBlue(), (int)(100 * alpha)),
-                new Color(color.getRed(), color.getGreen(), color.getBlue(), 0)
-            }
-        );
-        
-        // Draw the glow
-        Composite oldComposite = g2.getComposite();
-        // Ensure alpha is in valid range [0.0, 1.0]
-        float glowAlpha = 0.5f * alpha;
-        glowAlpha = Math.max(0.0f, Math.min(1.0f, glowAlpha));
-        g2.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, glowAlpha));
-        g2.setPaint(paint);
-        g2.fillOval(glowX, glowY, glowSize, glowSize);
-        g2.setComposite(oldComposite);
+    private static BufferedImage getGlowSprite(PowerUpType type, Color color, int glowSize) {
+        BufferedImage sprite = GLOW_SPRITES.get(type);
+        if (sprite == null) {
+            sprite = new BufferedImage(glowSize, glowSize, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D sg = sprite.createGraphics();
+            sg.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            // Same soft radial falloff as before, with the 50% glow composite folded into the stops
+            sg.setPaint(new RadialGradientPaint(
+                glowSize / 2f, glowSize / 2f, glowSize / 2f,
+                new float[] {0.0f, 1.0f},
+                new Color[] {
+                    new Color(color.getRed(), color.getGreen(), color.getBlue(), 50),
+                    new Color(color.getRed(), color.getGreen(), color.getBlue(), 0)
+                }
+            ));
+            sg.fillOval(0, 0, glowSize, glowSize);
+            sg.dispose();
+            GLOW_SPRITES.put(type, sprite);
+        }
+        return sprite;
     }
     
     public Area getCollisionShape() {
@@ -195,6 +185,20 @@ public class PowerUp extends Updateable {
         collected = true;
         // Stop the update loop by setting start to false
         this.start = false;
+        if (expiry != null) expiry.cancel();
+    }
+    
+    /** Schedules the end of this power-up's life on the given timers. */
+    public void scheduleExpiry(TimingWheel timers, Runnable onExpire) {
+        expiry = timers.schedule(LIFETIME, () -> {
+            expired = true;
+            this.start = false;
+            onExpire.run();
+        });
+    }
+    
+    public void cancelExpiry() {
+        if (expiry != null) expiry.cancel();
     }
     
     public PowerUpType getType() {
@@ -202,7 +206,7 @@ public class PowerUp extends Updateable {
     }
     
     public boolean isExpired() {
-        return System.currentTimeMillis() - creationTime > LIFETIME;
+        return expired;
     }
     
     public Vector2 getPosition() {
@@ -213,6 +217,15 @@ public class PowerUp extends Updateable {
         return color;
     }
     
+    public int getSize() {
+        return SIZE;
+    }
+    
+    public float getDrawExtent() {
+        // Largest pulse plus glow on both sides
+        return SIZE * 1.1f + GLOW_MARGIN * 2;
+    }
+    
     private void checkOutOfBounds() {
         if (position.x < 0) {
             position.x = 0;
@@ -1,12 +1,18 @@
 package game.object.projectiles;
 
+import game.component.RenderCommands;
 import game.component.Updateable;
 import game.component.Vector2;
 
 import java.awt.*;
-import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.HashMap;
+import java.util.Map;
 
 public class BaseProjectile extends Updateable implements Projectile {
+    // Projectile shapes are rasterized once per color and size and drawn as sprites
+    private static final Map<String, BufferedImage> SPRITES = new HashMap<>();
+
     protected Vector2 position;
     protected Vector2 velocity;
     protected Vector2 frameVelocity;
@@ -15,6 +21,7 @@ public class BaseProjectile extends Updateable implements Projectile {
     protected Color color;
     protected float size;
     protected float speed;
+    private volatile long inputTimestamp = 0; // for input-to-photon latency tracking
 
 
 
@@ -33,12 +40,38 @@ public class BaseProjectile extends Updateable implements Projectile {
 
 
     @Override
-    public void draw(Graphics2D g2D) {
-        AffineTransform at = g2D.getTransform();
-        g2D.setColor(color);
-        g2D.translate(position.x, position.y);
-        g2D.fill(shape);
-        g2D.setTransform(at);
+    public long getInputTimestamp() {
+        return inputTimestamp;
+    }
+
+    @Override
+    public void setInputTimestamp(long inputTimestamp) {
+        this.inputTimestamp = inputTimestamp;
+    }
+
+    @Override
+    public void submit(RenderCommands commands) {
+        BufferedImage sprite = getSprite();
+        commands.add(RenderCommands.LAYER_PROJECTILES, commands.spriteId(sprite),
+                position.x, position.y, sprite.getWidth(), sprite.getHeight(), 0, 1.0f);
+    }
+    
+    private BufferedImage getSprite() {
+        String key = getClass().getName() + ":" + color.getRGB() + ":" + size;
+        synchronized (SPRITES) {
+            BufferedImage sprite = SPRITES.get(key);
+            if (sprite == null) {
+                Rectangle bounds = shape.getBounds();
+                sprite = new BufferedImage(Math.max(1, bounds.x + bounds.width), Math.max(1, bounds.y + bounds.height), BufferedImage.TYPE_INT_ARGB);
+                Graphics2D g2D = sprite.createGraphics();
+                g2D.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+                g2D.setColor(color);
+                g2D.fill(shape);
+                g2D.dispose();
+                SPRITES.put(key, sprite);
+            }
+            return sprite;
+        }
     }
 
     @Override
@@ -1,12 +1,11 @@
 package game.object.projectiles;
 
+import game.component.RenderCommands;
 import game.component.Vector2;
 
-import java.awt.*;
-
 public interface Projectile {
 
-    public void draw(Graphics2D g2d);
+    public void submit(RenderCommands commands);
 
     public Vector2 getPosition();
 
@@ -20,5 +19,10 @@ public interface Projectile {
 
     public boolean outOfBounds(int width, int height);
 
+    /** System.nanoTime() of the input that fired this projectile, or 0 once it has been drawn. */
+    public long getInputTimestamp();
+
+    public void setInputTimestamp(long inputTimestamp);
+
 
 }
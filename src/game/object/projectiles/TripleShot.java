@@ -1,9 +1,9 @@
 package game.object.projectiles;
 
+import game.component.RenderCommands;
 import game.component.Vector2;
 
 import java.awt.*;
-import java.awt.geom.AffineTransform;
 import java.awt.geom.Ellipse2D;
 import java.util.ArrayList;
 import java.util.List;
@@ -34,9 +34,9 @@ public class TripleShot extends BaseProjectile {
     }
     
     @Override
-    public void draw(Graphics2D g2D) {
+    public void submit(RenderCommands commands) {
         for (Projectile projectile : subProjectiles) {
-            projectile.draw(g2D);
+            projectile.submit(commands);
         }
     }
     
@@ -0,0 +1,242 @@
+package game.component;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
+import java.awt.image.DataBufferInt;
+import java.awt.image.Raster;
+import java.awt.image.WritableRaster;
+import java.util.Random;
+
+/**
+ * Compares RasterWriter output with Graphics2D drawing the same primitives into an
+ * identical TYPE_INT_ARGB_PRE image. Runs without a test framework:
+ * java -cp out game.component.RasterWriterTest exits non-zero on the first failure.
+ */
+public class RasterWriterTest {
+    private static final int SIZE = 96;
+    private static final int OPAQUE_TOLERANCE = 0;      // same coverage, same color
+    private static final int BLEND_TOLERANCE = 1;       // rounding in the premultiplied blend
+
+    private static int failures = 0;
+
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        opaqueDiscsMatchFillOval();
+        translucentDiscsMatchFillOval();
+        opaqueRectsMatchFillRect();
+        translucentRectsMatchFillRect();
+        additiveDiscsMatchAdditiveComposite();
+        blendOverMatchesSrcOver();
+        rowClipMatchesClippedGraphics();
+        if (failures > 0) {
+            System.err.println(failures + " RasterWriter check(s) failed");
+            System.exit(1);
+        }
+        System.out.println("RasterWriterTest passed");
+    }
+
+    private static void opaqueDiscsMatchFillOval() {
+        for (int diameter = 1; diameter <= 80; diameter++) { // past the precomputed mask limit
+            BufferedImage expected = background(diameter);
+            BufferedImage actual = copy(expected);
+            int argb = 0xFFFFE080;
+            Graphics2D g2 = graphics(expected);
+            g2.setColor(new Color(argb, true));
+            g2.fillOval(5, 7, diameter, diameter);
+            g2.dispose();
+            new RasterWriter(actual).fillDisc(5, 7, diameter, argb);
+            check("opaque disc d=" + diameter, expected, actual, OPAQUE_TOLERANCE);
+        }
+    }
+
+    private static void translucentDiscsMatchFillOval() {
+        for (int diameter = 1; diameter <= 80; diameter++) {
+            BufferedImage expected = background(100 + diameter);
+            BufferedImage actual = copy(expected);
+            int argb = 0x80A0C0FF;
+            Graphics2D g2 = graphics(expected);
+            g2.setColor(new Color(argb, true));
+            g2.fillOval(3, 4, diameter, diameter);
+            g2.dispose();
+            new RasterWriter(actual).fillDisc(3, 4, diameter, argb);
+            check("translucent disc d=" + diameter, expected, actual, BLEND_TOLERANCE);
+        }
+    }
+
+    private static void opaqueRectsMatchFillRect() {
+        Random random = new Random(3);
+        for (int i = 0; i < 50; i++) {
+            int x = random.nextInt(SIZE + 20) - 10;
+            int y = random.nextInt(SIZE + 20) - 10;
+            int w = random.nextInt(30);
+            int h = random.nextInt(30);
+            int argb = 0xFF000000 | random.nextInt(0x1000000);
+            BufferedImage expected = background(200 + i);
+            BufferedImage actual = copy(expected);
+            Graphics2D g2 = graphics(expected);
+            g2.setColor(new Color(argb, true));
+            g2.fillRect(x, y, w, h);
+            g2.dispose();
+            new RasterWriter(actual).fillRect(x, y, w, h, argb);
+            check("opaque rect " + x + "," + y + " " + w + "x" + h, expected, actual, OPAQUE_TOLERANCE);
+        }
+    }
+
+    private static void translucentRectsMatchFillRect() {
+        Random random = new Random(4);
+        for (int i = 0; i < 50; i++) {
+            int x = random.nextInt(SIZE) - 10;
+            int y = random.nextInt(SIZE) - 10;
+            int argb = ((1 + random.nextInt(254)) << 24) | random.nextInt(0x1000000);
+            BufferedImage expected = background(300 + i);
+            BufferedImage actual = copy(expected);
+            Graphics2D g2 = graphics(expected);
+            g2.setColor(new Color(argb, true));
+            g2.fillRect(x, y, 20, 12);
+            g2.dispose();
+            new RasterWriter(actual).fillRect(x, y, 20, 12, argb);
+            check("translucent rect alpha=" + (argb >>> 24), expected, actual, BLEND_TOLERANCE);
+        }
+    }
+
+    private static void additiveDiscsMatchAdditiveComposite() {
+        for (int diameter = 1; diameter <= 80; diameter += 3) {
+            BufferedImage expected = background(400 + diameter);
+            BufferedImage actual = copy(expected);
+            int argb = 0x90FF8020;
+            Graphics2D g2 = graphics(expected);
+            g2.setComposite(new AdditiveComposite());
+            g2.setColor(new Color(argb, true));
+            g2.fillOval(10, 2, diameter, diameter);
+            g2.dispose();
+            new RasterWriter(actual).fillDiscAdditive(10, 2, diameter, argb);
+            check("additive disc d=" + diameter, expected, actual, BLEND_TOLERANCE);
+        }
+    }
+
+    private static void blendOverMatchesSrcOver() {
+        // Every source alpha over a spread of premultiplied destinations, one pixel at a time
+        BufferedImage expected = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB_PRE);
+        int[] pixel = ((DataBufferInt) expected.getRaster().getDataBuffer()).getData();
+        Random random = new Random(5);
+        for (int alpha = 0; alpha < 256; alpha++) {
+            for (int n = 0; n < 16; n++) {
+                int dst = RasterWriter.premultiply(random.nextInt());
+                int src = (alpha << 24) | random.nextInt(0x1000000);
+                pixel[0] = dst;
+                Graphics2D g2 = graphics(expected);
+                g2.setColor(new Color(src, true));
+                g2.fillRect(0, 0, 1, 1);
+                g2.dispose();
+                int actual = RasterWriter.blendOver(dst, RasterWriter.premultiply(src));
+                if (channelDifference(pixel[0], actual) > BLEND_TOLERANCE) {
+                    fail(String.format("blendOver src=%08x dst=%08x: Graphics2D %08x, RasterWriter %08x", src, dst, pixel[0], actual));
+                    return;
+                }
+            }
+        }
+    }
+
+    private static void rowClipMatchesClippedGraphics() {
+        BufferedImage expected = background(500);
+        BufferedImage actual = copy(expected);
+        int argb = 0xFF40FF40;
+        Graphics2D g2 = graphics(expected);
+        g2.setClip(0, 20, SIZE, 15);
+        g2.setColor(new Color(argb, true));
+        g2.fillOval(10, 10, 40, 40);
+        g2.fillRect(60, 0, 10, SIZE);
+        g2.dispose();
+        RasterWriter writer = new RasterWriter(actual);
+        writer.setRowClip(20, 35);
+        writer.fillDisc(10, 10, 40, argb);
+        writer.fillRect(60, 0, 10, SIZE, argb);
+        check("row clip", expected, actual, OPAQUE_TOLERANCE);
+    }
+
+    // --- Helpers ---
+
+    // Opaque random noise, so both straight and premultiplied blends are exercised against real colors
+    private static BufferedImage background(long seed) {
+        BufferedImage image = new BufferedImage(SIZE, SIZE, BufferedImage.TYPE_INT_ARGB_PRE);
+        int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        Random random = new Random(seed);
+        for (int i = 0; i < pixels.length; i++) {
+            pixels[i] = 0xFF000000 | random.nextInt(0x1000000);
+        }
+        return image;
+    }
+
+    private static BufferedImage copy(BufferedImage image) {
+        BufferedImage copy = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_ARGB_PRE);
+        int[] src = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        int[] dst = ((DataBufferInt) copy.getRaster().getDataBuffer()).getData();
+        System.arraycopy(src, 0, dst, 0, src.length);
+        return copy;
+    }
+
+    private static Graphics2D graphics(BufferedImage image) {
+        Graphics2D g2 = image.createGraphics();
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
+        return g2;
+    }
+
+    private static int channelDifference(int a, int b) {
+        int max = 0;
+        for (int shift = 0; shift < 32; shift += 8) {
+            max = Math.max(max, Math.abs(((a >>> shift) & 0xFF) - ((b >>> shift) & 0xFF)));
+        }
+        return max;
+    }
+
+    // Fails when any channel of any pixel is off by more than the tolerance
+    private static void check(String name, BufferedImage expected, BufferedImage actual, int tolerance) {
+        int[] e = ((DataBufferInt) expected.getRaster().getDataBuffer()).getData();
+        int[] a = ((DataBufferInt) actual.getRaster().getDataBuffer()).getData();
+        int outliers = 0;
+        int first = -1;
+        for (int i = 0; i < e.length; i++) {
+            if (channelDifference(e[i], a[i]) > tolerance) {
+                if (first < 0) first = i;
+                outliers++;
+            }
+        }
+        if (outliers > 0) {
+            fail(String.format("%s: %d pixel(s) differ, first at (%d,%d): Graphics2D %08x, RasterWriter %08x",
+                name, outliers, first % SIZE, first / SIZE, e[first], a[first]));
+        }
+    }
+
+    private static void fail(String message) {
+        System.err.println("FAIL " + message);
+        failures++;
+    }
+
+    /** Reference additive blend for Graphics2D: premultiplied source added to the destination, clamped. */
+    private static class AdditiveComposite implements Composite {
+        @Override
+        public CompositeContext createContext(ColorModel srcColorModel, ColorModel dstColorModel, RenderingHints hints) {
+            return new CompositeContext() {
+                @Override
+                public void compose(Raster src, Raster dstIn, WritableRaster dstOut) {
+                    int w = Math.min(src.getWidth(), dstIn.getWidth());
+                    int h = Math.min(src.getHeight(), dstIn.getHeight());
+                    for (int y = 0; y < h; y++) {
+                        for (int x = 0; x < w; x++) {
+                            int source = srcColorModel.getRGB(src.getDataElements(x, y, null));
+                            Object dstElements = dstIn.getDataElements(x, y, null);
+                            int destination = ((int[]) dstElements)[0];
+                            int sum = RasterWriter.blendAdd(destination, RasterWriter.premultiply(source));
+                            dstOut.setDataElements(x, y, new int[] {sum});
+                        }
+                    }
+                }
+
+                @Override
+                public void dispose() {
+                }
+            };
+        }
+    }
+}